@@ -0,0 +1,113 @@
+// This is a class that plays a session's frames with the pauses between them
+// on a shared scheduler thread, so that the game thread never sleeps. The game
+// thread queues each frame and carries on, so it can already be waiting for the
+// player's next input while an animation is still playing. Entering a line
+// skips the rest of any animation that was queued before it.
+// In turbo mode (`java GameShow --turbo`, or `-Dwordle.turbo=true`) every pause
+// is skipped.
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class Animator {
+    private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "animator");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static volatile boolean turbo = "true".equals(System.getProperty("wordle.turbo"));
+
+    private final Renderer renderer;
+    // Frames (String) and pauses in milliseconds (Long) still to be played, each
+    // with the number it was queued as.
+    private final ArrayDeque<Object> queue = new ArrayDeque<Object>();
+    private final ArrayDeque<Long> queueNumbers = new ArrayDeque<Long>();
+    private long numQueued = 0;
+    // Pauses queued up to and including this number are skipped.
+    private long skipUpTo = 0;
+    // Whether the queue is being played. Only one thread plays it at a time.
+    private boolean playing = false;
+    // The scheduled end of the pause that is currently being waited out, if any.
+    private ScheduledFuture<?> pause = null;
+
+    public Animator(Renderer renderer) {
+        this.renderer = renderer;
+    }
+
+    public static void setTurbo(boolean turbo) {
+        Animator.turbo = turbo;
+    }
+
+    public static boolean isTurbo() {
+        return turbo;
+    }
+
+    public synchronized void submit(String frame, long pauseMillis) {
+        // Queues a frame (which may be null if there is nothing to draw) and a pause
+        // to wait after it.
+        if (frame != null) {
+            queue.add(frame);
+            queueNumbers.add(++numQueued);
+        }
+        if (pauseMillis > 0 && !turbo) {
+            queue.add(pauseMillis);
+            queueNumbers.add(++numQueued);
+        }
+        if (!playing && !queue.isEmpty()) {
+            playing = true;
+            scheduler.execute(this::play);
+        }
+    }
+
+    public synchronized void skip() {
+        // Skips every pause that has been queued so far.
+        skipUpTo = numQueued;
+        if (pause != null && pause.cancel(false)) {
+            pause = null;
+            scheduler.execute(this::play);
+        }
+    }
+
+    public synchronized void awaitIdle() {
+        // Waits until everything queued has been played.
+        while (playing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void play() {
+        // Writes frames until the queue is empty or a pause has to be waited out, in
+        // which case this method is scheduled to run again after the pause.
+        while (true) {
+            Object item;
+            synchronized (this) {
+                pause = null;
+                item = queue.poll();
+                long number = item == null ? 0 : queueNumbers.poll();
+                if (item == null) {
+                    playing = false;
+                    notifyAll();
+                    return;
+                }
+                if (item instanceof Long) {
+                    if (number > skipUpTo && !turbo) {
+                        pause = scheduler.schedule(this::play, (Long) item, TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                    continue;
+                }
+            }
+            renderer.write((String) item);
+        }
+    }
+}
@@ -0,0 +1,516 @@
+// This program measures how long the game's hot paths take. It is not part of
+// the game itself.
+//
+// `java Benchmarks` runs every benchmark and prints a table of results.
+// `java Benchmarks --csv results.csv` also writes the results as CSV in the same
+// columns as JMH, so that runs of different versions can be compared by tools.
+// `java Benchmarks <name>...` only runs the benchmarks whose names start with
+// one of the given names.
+// `java Benchmarks startup` compares how long a new JVM takes to load every word
+// list with and without the `DictionarySnapshot`.
+// `java Benchmarks memory` reports how much heap the loaded word lists take.
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class Benchmarks {
+    // Every word list the rounds load.
+    private static final String[] WORD_LISTS = { "./wordlist_4_all.txt", "./wordlist_4_answers.txt",
+            "./wordlist_5_all.txt", "./wordlist_5_answers.txt", "./wordlist_6_all.txt", "./wordlist_6_answers.txt",
+            "./wordlist_java_keywords.txt" };
+
+    // How long to run each benchmark before measuring it, and how long each
+    // measured iteration lasts.
+    private static final long WARMUP_NANOS = 1000000000L;
+    private static final long ITERATION_NANOS = 200000000L;
+    private static final int ITERATIONS = 5;
+
+    // Results are added to this so that the JIT cannot remove unused work.
+    private static long sink;
+
+    private static final ArrayList<String[]> results = new ArrayList<String[]>();
+    private static final ArrayList<String> filters = new ArrayList<String>();
+    // Descriptions of how much output some of the benchmarks write.
+    private static final ArrayList<String> outputStats = new ArrayList<String>();
+
+    @FunctionalInterface
+    interface Operation {
+        // One call of the code being measured. Returns any number derived from the
+        // result.
+        long run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("startup")) {
+            startup();
+            return;
+        } else if (args.length > 0 && args[0].equals("memory")) {
+            memory();
+            return;
+        } else if (args.length > 0 && args[0].equals("startup-child")) {
+            // Run by `startup` in a new JVM.
+            for (String list : WORD_LISTS) {
+                WordLists.get(list);
+            }
+            System.out.println(ManagementFactory.getRuntimeMXBean().getUptime());
+            return;
+        }
+
+        String csvFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--csv") && i + 1 < args.length) {
+                csvFile = args[++i];
+            } else {
+                filters.add(args[i]);
+            }
+        }
+
+        System.out.format("%-32s%-12s%16s%14s%n", "BENCHMARK", "PARAM", "NS/OP", "ERROR");
+        dictionaryLookup();
+        printColoredWord();
+        getGuess();
+        keystroke();
+        hardModeCheck();
+        absurdlePartition();
+        openingHint();
+        getWords();
+        leaderboard();
+        gameHistory();
+        doubleBoardRedraw();
+        if (!outputStats.isEmpty()) {
+            System.out.println();
+            for (String stats : outputStats) {
+                System.out.println(stats);
+            }
+        }
+
+        if (csvFile != null) {
+            PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(csvFile)));
+            out.println("\"Benchmark\",\"Mode\",\"Threads\",\"Samples\",\"Score\",\"Score Error\",\"Unit\",\"Param\"");
+            for (String[] result : results) {
+                out.println("\"" + result[0] + "\",\"avgt\",1," + ITERATIONS + "," + result[2] + "," + result[3]
+                        + ",\"ns/op\",\"" + result[1] + "\"");
+            }
+            out.close();
+            System.out.println();
+            System.out.println("Wrote " + results.size() + " results to " + csvFile + ".");
+        }
+    }
+
+    private static boolean selected(String name) {
+        if (filters.isEmpty())
+            return true;
+        for (String filter : filters) {
+            if (name.startsWith(filter))
+                return true;
+        }
+        return false;
+    }
+
+    private static void measure(String name, String param, Operation operation) throws Exception {
+        // Runs `operation` repeatedly to warm it up, then measures the average time of
+        // one call over several iterations and records the mean and the spread.
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < WARMUP_NANOS) {
+            sink += operation.run();
+        }
+        double[] nanosPerOp = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long ops = 0;
+            start = System.nanoTime();
+            long elapsed;
+            do {
+                sink += operation.run();
+                ops++;
+            } while ((elapsed = System.nanoTime() - start) < ITERATION_NANOS);
+            nanosPerOp[i] = (double) elapsed / ops;
+        }
+        double mean = 0;
+        for (double x : nanosPerOp) {
+            mean += x / ITERATIONS;
+        }
+        double variance = 0;
+        for (double x : nanosPerOp) {
+            variance += (x - mean) * (x - mean) / (ITERATIONS - 1);
+        }
+        double error = Math.sqrt(variance);
+        System.out.format("%-32s%-12s%16.1f%14.1f%n", name, param, mean, error);
+        results.add(new String[] { name, param, String.format("%.3f", mean), String.format("%.3f", error) });
+    }
+
+    private static void dictionaryLookup() throws Exception {
+        // Checks that looking up a guess in a `Dictionary` costs the same whether it
+        // holds 5 thousand or 500 thousand words.
+        if (!selected("dictionaryLookup"))
+            return;
+        Random random = new Random(42);
+        for (int size : new int[] { 5000, 50000, 500000 }) {
+            ArrayList<String> words = new ArrayList<String>(size);
+            for (int i = 0; i < size; i++) {
+                words.add(randomWord(random));
+            }
+            Dictionary dictionary = new Dictionary(words);
+            // Half of the queries are words in the dictionary and half are not.
+            String[] queries = new String[4096];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = i % 2 == 0 ? words.get(random.nextInt(size)) : randomWord(random);
+            }
+            int[] next = { 0 };
+            measure("dictionaryLookup", String.valueOf(size),
+                    () -> dictionary.contains(queries[next[0]++ & (queries.length - 1)]) ? 1 : 0);
+        }
+    }
+
+    private static void printColoredWord() throws Exception {
+        // Prints a 5-letter guess to a stream that throws the output away.
+        if (!selected("printColoredWord"))
+            return;
+        Session session = new Session(null, OutputStream.nullOutputStream());
+        measure("printColoredWord", "5", () -> {
+            WordleRound.printColoredWord(session, "SPEED", "ABIDE", false);
+            session.getRenderer().flush();
+            return 1;
+        });
+    }
+
+    private static void getGuess() throws Exception {
+        // Validates a valid and an invalid guess in the 6-letter round.
+        if (!selected("getGuess"))
+            return;
+        WordleRound round = new Round3();
+        Dictionary allWords = WordLists.get("./wordlist_6_all.txt");
+        // Alternates between an invalid guess, which is rejected, and a valid one.
+        Session session = new Session(null, OutputStream.nullOutputStream()) {
+            private int calls = 0;
+
+            @Override
+            public String nextLine() {
+                getRenderer().flush();
+                return calls++ % 2 == 0 ? "QWERTY" : "CASTLE";
+            }
+
+            @Override
+            public void clearScreen() {
+            }
+        };
+        BoardView view = new BoardView(session);
+        measure("getGuess", "6", () -> round.getGuess(session, 6, allWords, view).length());
+    }
+
+    private static void keystroke() throws Exception {
+        // Types a 6-letter guess one key at a time, with a wrong letter and a
+        // backspace, checking and redrawing the line after each of the 8 keys.
+        if (!selected("keystroke"))
+            return;
+        Dictionary allWords = WordLists.get("./wordlist_6_all.txt");
+        String keys = "CASTQ\u007fLE\r";
+        Reader in = new Reader() {
+            private int next = 0;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                buffer[offset] = keys.charAt(next++ % keys.length());
+                return 1;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Session session = new Session(null, OutputStream.nullOutputStream());
+        session.useRawInput(new RawInput(in, 80, 24));
+        measure("keystroke", "8 keys", () -> session.nextGuess(allWords, 6).length());
+    }
+
+    private static void hardModeCheck() throws Exception {
+        // Checks the answer against the hard mode clues of 1 and of 100 earlier
+        // guesses, which should cost the same.
+        if (!selected("hardModeCheck"))
+            return;
+        Dictionary allWords = WordLists.get("./wordlist_5_all.txt");
+        Random random = new Random(42);
+        for (int numGuesses : new int[] { 1, 100 }) {
+            GuessConstraints constraints = new GuessConstraints();
+            for (int i = 0; i < numGuesses; i++) {
+                String guess = allWords.get(random.nextInt(allWords.size()));
+                constraints.add(guess, Feedback.score(guess, "CRANE"));
+            }
+            measure("hardModeCheck", String.valueOf(numGuesses), () -> constraints.allows("CRANE") ? 1 : 0);
+        }
+    }
+
+    private static void absurdlePartition() throws Exception {
+        // Splits every answer of the Absurdle round, and every 6-letter word, by the
+        // colours of a guess. The larger split runs on every core.
+        if (!selected("absurdlePartition"))
+            return;
+        Dictionary answers = WordLists.get("./wordlist_5_answers.txt");
+        int[] answerCandidates = Solver.allCandidates(answers);
+        measure("absurdlePartition", String.valueOf(answers.size()),
+                () -> Solver.largestBucket(answers, answerCandidates, "CRANE").candidates.length);
+        Dictionary words = WordLists.get("./wordlist_6_all.txt");
+        int[] wordCandidates = Solver.allCandidates(words);
+        measure("absurdlePartition", String.valueOf(words.size()),
+                () -> Solver.largestBucket(words, wordCandidates, "CASTLE").candidates.length);
+    }
+
+    private static void openingHint() throws Exception {
+        // Works out the hint for the second guess of the 5-letter round, and looks it
+        // up in the opening book.
+        if (!selected("openingHint"))
+            return;
+        Dictionary answers = WordLists.get("./wordlist_5_answers.txt");
+        Dictionary allWords = WordLists.get("./wordlist_5_all.txt");
+        OpeningBook.Entry entry = OpeningBook.build("./wordlist_5_answers.txt", "./wordlist_5_all.txt");
+        int[] candidates = Solver.filter(answers, Solver.allCandidates(answers), entry.firstGuess,
+                Feedback.score(entry.firstGuess, "CRANE"));
+        measure("openingHint", "solver", () -> Solver.bestGuess(allWords, answers, candidates, false).length());
+        measure("openingHint", "book", () -> entry.lookup(answers, candidates).length());
+    }
+
+    private static void getWords() throws Exception {
+        // Parses the largest word list from text, and gets it from the cache.
+        if (!selected("getWords"))
+            return;
+        measure("getWords", "text", () -> WordleRound.getWords("./wordlist_6_all.txt").size());
+        measure("getWords", "cached", () -> WordleRound.getDictionary("./wordlist_6_all.txt").size());
+    }
+
+    private static void leaderboard() throws Exception {
+        // Loads leaderboards of different sizes, then ranks scores and gets pages of
+        // them, from memory and from the file. Refreshing when nothing was added to the
+        // file should cost the same at every size.
+        if (!selected("leaderboard"))
+            return;
+        Random random = new Random(42);
+        for (int size : new int[] { 10, 1000, 100000, 1000000 }) {
+            File file = File.createTempFile("leaderboard", ".txt");
+            file.deleteOnExit();
+            PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+            for (int i = 0; i < size; i++) {
+                out.println(randomWord(random) + "/" + random.nextInt(20000));
+            }
+            out.close();
+            String fileName = file.getPath();
+            measure("leaderboard.load", String.valueOf(size), () -> {
+                Leaderboard leaderboard = new Leaderboard(fileName, '/');
+                leaderboard.refresh();
+                return leaderboard.size();
+            });
+            Leaderboard leaderboard = new Leaderboard(fileName, '/');
+            leaderboard.refresh();
+            measure("leaderboard.refresh", String.valueOf(size), () -> {
+                leaderboard.refresh();
+                return leaderboard.size();
+            });
+            int[] next = { 0 };
+            measure("leaderboard.getRank", String.valueOf(size), () -> leaderboard.getRank(next[0]++ % 20000));
+            measure("leaderboard.getPage", String.valueOf(size),
+                    () -> leaderboard.getEntries(leaderboard.size() / 2, 20).size());
+            // Reads the first and second pages straight from the file, as the
+            // leaderboard screen does.
+            measure("leaderboard.streamPage", String.valueOf(size), () -> {
+                LeaderboardPage first = LeaderboardPage.read(fileName, '/', 20, LeaderboardPage.Cursor.TOP);
+                return LeaderboardPage.read(fileName, '/', 20, first.getEnd()).getFirstRank();
+            });
+            Files.delete(file.toPath());
+        }
+    }
+
+    private static void gameHistory() throws Exception {
+        // Reads the summary of a log of a million rounds, which should cost the same as
+        // for an empty log, and recomputes it from every record.
+        if (!selected("gameHistory"))
+            return;
+        Dictionary words = WordLists.get("./wordlist_5_all.txt");
+        Random random = new Random(42);
+        File file = File.createTempFile("history", ".bin");
+        file.deleteOnExit();
+        int size = 1000000;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.write(new byte[GameHistory.HEADER_SIZE]);
+        for (int i = 0; i < size; i++) {
+            GameHistory.Record record = new GameHistory.Record(1, 1, 6, false, words);
+            String answer = words.get(random.nextInt(words.size()));
+            for (int guess = 0; guess < 3; guess++) {
+                String word = guess == 2 ? answer : words.get(random.nextInt(words.size()));
+                record.guessScored(0, word, Feedback.score(word, answer), word.equals(answer));
+            }
+            record.finish(1600);
+            record.write(out);
+        }
+        out.close();
+        GameHistory history = new GameHistory(file.getPath());
+        measure("gameHistory.rebuild", String.valueOf(size), () -> history.rebuild().getPlayed());
+        measure("gameHistory.summary", String.valueOf(size), () -> history.getSummary().getPlayed());
+        Files.delete(file.toPath());
+    }
+
+    private static void doubleBoardRedraw() throws Exception {
+        // Redraws the double Wordle board after five guesses, and 32 boards after ten.
+        if (!selected("doubleBoardRedraw"))
+            return;
+        ArrayList<String> allGuesses = new ArrayList<String>(
+                Arrays.asList("CRANE", "SLOTH", "PUDGY", "ABIDE", "WHILE"));
+        ArrayList<int[]> allPatterns = scoreBoards(allGuesses, new String[] { "WHILE", "THOSE" });
+        Session session = new Session(null, OutputStream.nullOutputStream());
+        measure("doubleBoardRedraw", "2", () -> {
+            printLines(session, MultiWordleRound.boardLines(allGuesses, allPatterns, null));
+            session.getRenderer().flush();
+            return 1;
+        });
+        Dictionary answers = WordLists.get("./wordlist_5_answers.txt");
+        String[] manyAnswers = new String[32];
+        for (int i = 0; i < manyAnswers.length; i++) {
+            manyAnswers[i] = answers.get(i * answers.size() / manyAnswers.length);
+        }
+        ArrayList<String> manyGuesses = new ArrayList<String>(Arrays.asList("CRANE", "SLOTH", "PUDGY", "ABIDE",
+                "WHILE", "FJORD", "GAWKY", "NYMPH", "BLITZ", "VEXED"));
+        ArrayList<int[]> manyPatterns = scoreBoards(manyGuesses, manyAnswers);
+        measure("doubleBoardRedraw", "32", () -> {
+            printLines(session, MultiWordleRound.boardLines(manyGuesses, manyPatterns, null));
+            session.getRenderer().flush();
+            return 1;
+        });
+
+        // Show how much output a single redraw makes once it reaches the terminal.
+        Session counted = new Session(null, OutputStream.nullOutputStream());
+        printLines(counted, MultiWordleRound.boardLines(allGuesses, allPatterns, null));
+        counted.getRenderer().flush();
+        outputStats.add("doubleBoardRedraw: " + counted.getRenderer().getStats());
+        counted = new Session(null, OutputStream.nullOutputStream());
+        printLines(counted, MultiWordleRound.boardLines(manyGuesses, manyPatterns, null));
+        counted.getRenderer().flush();
+        outputStats.add("doubleBoardRedraw 32: " + counted.getRenderer().getStats());
+
+        // Show how much output the board of a round makes for the 6th and the 60th
+        // guess, drawing only what changed and redrawing the whole screen.
+        for (boolean incremental : new boolean[] { true, false }) {
+            String stats = "guessRedraw " + (incremental ? "incremental" : "full") + ":";
+            for (int numGuesses : new int[] { 6, 60 }) {
+                Session guessed = new Session(null, OutputStream.nullOutputStream());
+                if (incremental)
+                    guessed.useRawInput(new RawInput(Reader.nullReader(), 80, 1000));
+                BoardView view = new BoardView(guessed);
+                ArrayList<String> board = new ArrayList<String>();
+                long before = 0;
+                for (int i = 0; i < numGuesses; i++) {
+                    if (!board.isEmpty())
+                        board.remove(board.size() - 1);
+                    board.add(WordleRound.coloredWord("CRANE", Feedback.score("CRANE", "SLOTH")));
+                    board.add(WordleRound.remainingMessage(i));
+                    guessed.getRenderer().flush();
+                    before = guessed.getRenderer().getBytesWritten();
+                    view.show(board, null, -1);
+                }
+                guessed.getRenderer().flush();
+                stats += " " + (guessed.getRenderer().getBytesWritten() - before) + " bytes for guess " + numGuesses
+                        + ",";
+            }
+            outputStats.add(stats.substring(0, stats.length() - 1));
+        }
+    }
+
+    private static void printLines(Session session, ArrayList<String> lines) {
+        for (String line : lines) {
+            session.println(line);
+        }
+    }
+
+    private static ArrayList<int[]> scoreBoards(ArrayList<String> guesses, String[] answers) {
+        // Returns the colours of each guess on each board, like a multi-board round
+        // keeps them, with boards that were solved by an earlier guess left out.
+        ArrayList<int[]> allPatterns = new ArrayList<int[]>();
+        boolean[] solved = new boolean[answers.length];
+        for (String guess : guesses) {
+            int[] patterns = new int[answers.length];
+            for (int i = 0; i < answers.length; i++) {
+                patterns[i] = solved[i] ? -1 : Feedback.score(guess, answers[i]);
+                solved[i] |= guess.equals(answers[i]);
+            }
+            allPatterns.add(patterns);
+        }
+        return allPatterns;
+    }
+
+    private static void startup() throws IOException, InterruptedException {
+        // Starts new JVMs that load every word list and reports the median time from
+        // JVM start until the words are ready, with and without the snapshot.
+        DictionarySnapshot.main(new String[0]);
+        final int runs = 9;
+        System.out.println("Cold start until all word lists are loaded");
+        System.out.format("%-10s%15s%n", "SOURCE", "MEDIAN MS");
+        for (String snapshot : new String[] { "false", "true" }) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+                Process process = new ProcessBuilder(java, "-Dwordle.snapshot=" + snapshot, "-cp",
+                        System.getProperty("java.class.path"), "Benchmarks", "startup-child")
+                        .redirectErrorStream(true).start();
+                BufferedReader br = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                millis[i] = Long.parseLong(br.readLine().trim());
+                br.close();
+                process.waitFor();
+            }
+            Arrays.sort(millis);
+            System.out.format("%-10s%15d%n", snapshot.equals("true") ? "snapshot" : "text", millis[runs / 2]);
+        }
+        System.out.println();
+    }
+
+    private static void memory() {
+        // Loads every word list, then measures the heap they take as `Dictionary`s
+        // (packed words and a hash table of indexes), and the heap the same words take
+        // when stored as they used to be: a String per word, plus the packed words, a
+        // hash table of packed keys and one of indexes.
+        long before = usedMemory();
+        Dictionary[] dictionaries = new Dictionary[WORD_LISTS.length];
+        int numWords = 0;
+        for (int i = 0; i < WORD_LISTS.length; i++) {
+            dictionaries[i] = new Dictionary(WordleRound.getWords(WORD_LISTS[i]));
+            numWords += dictionaries[i].size();
+        }
+        long packed = usedMemory() - before;
+
+        before = usedMemory();
+        Object[][] stringDictionaries = new Object[WORD_LISTS.length][];
+        for (int i = 0; i < WORD_LISTS.length; i++) {
+            Dictionary dictionary = dictionaries[i];
+            String[] words = new String[dictionary.size()];
+            for (int w = 0; w < words.length; w++) {
+                words[w] = dictionary.get(w);
+            }
+            int capacity = Integer.highestOneBit(Math.max(words.length, 1) * 2 - 1) << 1;
+            stringDictionaries[i] = new Object[] { words, new long[words.length], new long[capacity],
+                    new int[capacity] };
+        }
+        long strings = usedMemory() - before;
+        System.out.println("Heap taken by the " + WORD_LISTS.length + " word lists (" + numWords + " words)");
+        System.out.format("%-20s%12s%16s%n", "LAYOUT", "KB", "BYTES/WORD");
+        System.out.format("%-20s%12d%16.1f%n", "Strings", strings / 1024, (double) strings / numWords);
+        System.out.format("%-20s%12d%16.1f%n", "PackedWord", packed / 1024, (double) packed / numWords);
+        System.out.format("%.1f times smaller%n", (double) strings / packed);
+        // Keep both layouts reachable until they have been measured.
+        sink += dictionaries.length + stringDictionaries.length;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String randomWord(Random random) {
+        char[] letters = new char[5 + random.nextInt(4)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('A' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
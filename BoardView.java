@@ -0,0 +1,141 @@
+// This is a class for the screen of a round while it is being played: the
+// board of guesses, with any message for the player under it. It remembers
+// which lines are already on the screen, and when the board changes it only
+// moves the cursor back up to the first line that is different and redraws from
+// there, instead of clearing the screen and printing every guess again. A new
+// guess or an error message costs the same output however many guesses came
+// before it.
+// The lines can only be found again when the player's input takes exactly one
+// line and the size of the terminal is known, which is the case with
+// `RawInput`. Otherwise, and whenever the lines to redraw have scrolled off the
+// top of the screen, the whole screen is cleared and drawn again.
+
+import java.util.ArrayList;
+
+public class BoardView {
+    private final Session session;
+    // The lines of the board, as last shown.
+    private ArrayList<String> board = new ArrayList<String>();
+    // The lines on the screen below the blank line at its top, or null if the
+    // screen has to be drawn from scratch.
+    private ArrayList<String> drawn = null;
+
+    public BoardView(Session session) {
+        this.session = session;
+    }
+
+    public void show(ArrayList<String> board, String message, int animatedLine) {
+        // Shows the board with the message under it, if it is not null. The line at
+        // `animatedLine` of the board is revealed one letter at a time, unless it is
+        // -1. The player's input is read on the line after the last one.
+        this.board = board;
+        RawInput rawInput = session.getRawInput();
+        boolean incremental = Terminal.SUPPORTS_ANSI && rawInput != null;
+        ArrayList<String> lines = new ArrayList<String>(board);
+        if (message != null) {
+            if (!board.isEmpty())
+                lines.add("");
+            for (String line : message.split("\n")) {
+                if (incremental)
+                    wrap(line, rawInput.getColumns() - 1, lines);
+                else
+                    lines.add(line);
+            }
+        }
+
+        int first = 0;
+        boolean fullRedraw = drawn == null || !incremental;
+        if (!fullRedraw) {
+            while (first < lines.size() && first < drawn.size() && lines.get(first).equals(drawn.get(first))) {
+                first++;
+            }
+            // The cursor is on the line after the player's input, which was typed on the
+            // line after the last one drawn.
+            int up = drawn.size() + 1 - first;
+            fullRedraw = up >= rawInput.getRows();
+            if (!fullRedraw)
+                session.print(Terminal.cursorUp(up) + "\r" + Terminal.CLEAR_TO_END_OF_SCREEN);
+        }
+        if (fullRedraw) {
+            first = 0;
+            session.clearScreen();
+            session.println();
+        }
+        for (int i = first; i < lines.size(); i++) {
+            if (i == animatedLine)
+                printAnimated(lines.get(i));
+            else
+                session.print(lines.get(i));
+            session.println();
+        }
+        drawn = incremental ? lines : null;
+        for (String line : lines) {
+            // A line that is too wide for the terminal wraps onto the next one, so the
+            // lines cannot be counted to find it again.
+            if (incremental && visibleLength(line) >= rawInput.getColumns())
+                drawn = null;
+        }
+    }
+
+    public void showMessage(String message) {
+        // Shows the board again with a message under it.
+        show(board, message, -1);
+    }
+
+    private void printAnimated(String line) {
+        // Prints the line a letter at a time, with a pause after each letter.
+        int i = 0;
+        while (i < line.length()) {
+            int end = i + 1;
+            if (line.charAt(i) == '\033') {
+                while (end < line.length() && !Character.isLetter(line.charAt(end))) {
+                    end++;
+                }
+                end++;
+            }
+            session.print(line.substring(i, Math.min(end, line.length())));
+            if (end == i + 1 && line.charAt(i) != ' ')
+                session.sleep(250);
+            i = end;
+        }
+    }
+
+    static int visibleLength(String line) {
+        // Returns the number of characters of the line that take up space on the
+        // screen, leaving out colour codes.
+        int length = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '\033') {
+                while (i + 1 < line.length() && !Character.isLetter(line.charAt(i + 1))) {
+                    i++;
+                }
+                i++;
+            } else {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    static void wrap(String text, int width, ArrayList<String> lines) {
+        // Adds the text to `lines`, broken between words into lines of at most
+        // `width` characters where possible.
+        String line = null;
+        int lineLength = 0;
+        for (String word : text.split(" ", -1)) {
+            int wordLength = visibleLength(word);
+            if (line == null) {
+                line = word;
+                lineLength = wordLength;
+            } else if (lineLength + 1 + wordLength > width) {
+                lines.add(line);
+                line = word;
+                lineLength = wordLength;
+            } else {
+                line += " " + word;
+                lineLength += 1 + wordLength;
+            }
+        }
+        lines.add(line);
+    }
+}
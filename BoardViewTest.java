@@ -0,0 +1,55 @@
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class BoardViewTest {
+    public static void main(String[] args) {
+        // With raw input, each guess only redraws the new guess and the line under it,
+        // however many guesses came before.
+        Session session = new Session(null, OutputStream.nullOutputStream());
+        session.useRawInput(new RawInput(Reader.nullReader(), 80, 24));
+        BoardView view = new BoardView(session);
+        ArrayList<String> board = new ArrayList<String>();
+        String[] frames = new String[61];
+        for (int i = 1; i <= 60; i++) {
+            if (!board.isEmpty())
+                board.remove(board.size() - 1);
+            board.add(WordleRound.coloredWord("CRANE", Feedback.score("CRANE", "SLOTH")));
+            board.add(WordleRound.remainingMessage(10));
+            view.show(board, null, -1);
+            frames[i] = session.getRenderer().takeFrame();
+        }
+        System.out.println(frames[1].startsWith(Terminal.clearScreen())
+                && frames[6].startsWith(Terminal.cursorUp(2) + "\r" + Terminal.CLEAR_TO_END_OF_SCREEN)
+                && frames[6].endsWith("CRANE" + Utils.RESET + System.lineSeparator()
+                        + WordleRound.remainingMessage(10) + System.lineSeparator())
+                && frames[60].equals(frames[6]));
+
+        // An error message is added under the board without drawing the board again.
+        view.showMessage("Not a word.");
+        System.out.println(session.getRenderer().takeFrame().equals(Terminal.cursorUp(1) + "\r"
+                + Terminal.CLEAR_TO_END_OF_SCREEN + System.lineSeparator() + "Not a word." + System.lineSeparator()));
+
+        // Once the lines to redraw have scrolled off the screen, the whole screen is
+        // drawn again.
+        view.showMessage("word ".repeat(400).trim());
+        session.getRenderer().takeFrame();
+        view.showMessage(null);
+        System.out.println(session.getRenderer().takeFrame().startsWith(Terminal.clearScreen()));
+
+        // Without raw input, every change draws the whole screen.
+        Session lines = new Session(null, OutputStream.nullOutputStream());
+        BoardView full = new BoardView(lines);
+        full.show(board, null, -1);
+        lines.getRenderer().takeFrame();
+        full.showMessage("Not a word.");
+        System.out.println(lines.getRenderer().takeFrame().startsWith(Terminal.clearScreen()));
+
+        // Messages are wrapped between words, not counting colour codes.
+        ArrayList<String> wrapped = new ArrayList<String>();
+        BoardView.wrap(Utils.RED + "aaa bbb ccc" + Utils.RESET, 7, wrapped);
+        System.out.println(wrapped.equals(Arrays.asList(Utils.RED + "aaa bbb", "ccc" + Utils.RESET))
+                && BoardView.visibleLength(wrapped.get(0)) == 7);
+    }
+}
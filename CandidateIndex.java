@@ -0,0 +1,160 @@
+// This is a class for keeping track of which answers are still possible as
+// guesses are made, without checking every answer against every guess so far.
+// The answers that are still possible are kept as a bitset over a `Dictionary`
+// of answers (bit i is answer i). For each list of answers it precomputes which
+// answers have each letter in each position, and which have at least k copies
+// of each letter. The colours of a guess then become a few of those bitsets that
+// are ANDed into the candidates, 64 answers at a time.
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CandidateIndex {
+    private static final ConcurrentHashMap<Dictionary, CandidateIndex> indexes = new ConcurrentHashMap<Dictionary, CandidateIndex>();
+
+    private final Dictionary answers;
+    // The length of every answer, or 0 if the answers have different lengths.
+    private final int wordLength;
+    // positions[i][letter & 31]: the answers with that letter at position i.
+    private final long[][][] positions;
+    // atLeast[letter & 31][k]: the answers with at least k copies of that letter.
+    private final long[][][] atLeast;
+
+    public static CandidateIndex of(Dictionary answers) {
+        // Each list of answers is only indexed once and then shared.
+        return indexes.computeIfAbsent(answers, CandidateIndex::new);
+    }
+
+    private CandidateIndex(Dictionary answers) {
+        this.answers = answers;
+        int numWords = (answers.size() + 63) / 64;
+        int length = answers.size() > 0 ? PackedWord.length(answers.getPacked(0)) : 0;
+        int maxLength = 0;
+        for (int i = 0; i < answers.size(); i++) {
+            int answerLength = PackedWord.length(answers.getPacked(i));
+            if (answerLength != length)
+                length = 0;
+            maxLength = Math.max(maxLength, answerLength);
+        }
+        this.wordLength = length;
+        this.positions = new long[maxLength][32][numWords];
+        this.atLeast = new long[32][maxLength + 2][numWords];
+        int[] counts = new int[32];
+        for (int i = 0; i < answers.size(); i++) {
+            long answer = answers.getPacked(i);
+            int answerLength = PackedWord.length(answer);
+            for (int p = 0; p < answerLength; p++) {
+                int letter = PackedWord.letterAt(answer, p);
+                positions[p][letter][i >> 6] |= 1L << i;
+                counts[letter]++;
+                atLeast[letter][counts[letter]][i >> 6] |= 1L << i;
+            }
+            for (int p = 0; p < answerLength; p++) {
+                counts[PackedWord.letterAt(answer, p)] = 0;
+            }
+        }
+        for (int letter = 0; letter < 32; letter++) {
+            atLeast[letter][0] = all(answers.size());
+        }
+    }
+
+    public long[] all() {
+        // Returns the candidates before any guess: every answer.
+        return all(answers.size());
+    }
+
+    private static long[] all(int numAnswers) {
+        long[] bits = new long[(numAnswers + 63) / 64];
+        for (int i = 0; i < numAnswers; i++) {
+            bits[i >> 6] |= 1L << i;
+        }
+        return bits;
+    }
+
+    public void narrow(long[] candidates, String guess, int pattern) {
+        // Removes the candidates that would not have given `guess` the colours in
+        // `pattern`.
+        long packedGuess = PackedWord.pack(guess);
+        if (wordLength == 0 || guess.length() != wordLength) {
+            // The constraints below only hold for answers as long as the guess (eg. not
+            // in the Java keywords round), so score each candidate instead.
+            narrowByScoring(candidates, packedGuess, pattern);
+            return;
+        }
+        // A green letter must be in that position, and any other letter must not.
+        // The letters that are green or orange must appear at least that many times,
+        // and if a copy of the letter is also white, exactly that many times.
+        int[] minCounts = new int[32];
+        boolean[] exact = new boolean[32];
+        for (int i = 0; i < wordLength; i++) {
+            int letter = PackedWord.letterAt(packedGuess, i);
+            int color = Feedback.colorAt(pattern, i);
+            if (color == Feedback.GREEN)
+                and(candidates, positions[i][letter]);
+            else
+                andNot(candidates, positions[i][letter]);
+            if (color == Feedback.WHITE)
+                exact[letter] = true;
+            else
+                minCounts[letter]++;
+        }
+        for (int i = 0; i < wordLength; i++) {
+            int letter = PackedWord.letterAt(packedGuess, i);
+            if (minCounts[letter] == -1)
+                continue; // This letter was already handled.
+            long[][] counts = atLeast[letter];
+            if (minCounts[letter] > 0)
+                and(candidates, counts[Math.min(minCounts[letter], counts.length - 1)]);
+            if (exact[letter] && minCounts[letter] + 1 < counts.length)
+                andNot(candidates, counts[minCounts[letter] + 1]);
+            minCounts[letter] = -1;
+        }
+    }
+
+    private void narrowByScoring(long[] candidates, long guess, int pattern) {
+        int[] counts = Feedback.newScratch();
+        for (int w = 0; w < candidates.length; w++) {
+            long word = candidates[w];
+            while (word != 0) {
+                long bit = word & -word;
+                int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (Feedback.score(guess, answers.getPacked(i), counts) != pattern)
+                    candidates[w] &= ~bit;
+                word &= word - 1;
+            }
+        }
+    }
+
+    private static void and(long[] candidates, long[] bits) {
+        for (int w = 0; w < candidates.length; w++) {
+            candidates[w] &= bits[w];
+        }
+    }
+
+    private static void andNot(long[] candidates, long[] bits) {
+        for (int w = 0; w < candidates.length; w++) {
+            candidates[w] &= ~bits[w];
+        }
+    }
+
+    public static int count(long[] candidates) {
+        int count = 0;
+        for (long word : candidates) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public static int[] toIndexes(long[] candidates) {
+        // Returns the indexes of the candidates in increasing order, eg. for `Solver`.
+        int[] indexes = new int[count(candidates)];
+        int n = 0;
+        for (int w = 0; w < candidates.length; w++) {
+            long word = candidates[w];
+            while (word != 0) {
+                indexes[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.Arrays;
+import java.util.Random;
+
+public class CandidateIndexTest {
+    public static void main(String[] args) {
+        // Narrowing with the index should leave exactly the answers that `Solver.filter`
+        // leaves, for every round's answers, over a few guesses in a row.
+        String[][] lists = { { "./wordlist_5_answers.txt", "./wordlist_5_all.txt" },
+                { "./wordlist_4_answers.txt", "./wordlist_4_all.txt" },
+                { "./wordlist_6_answers.txt", "./wordlist_6_all.txt" },
+                { "./wordlist_java_keywords.txt", "./wordlist_java_keywords.txt" } };
+        Random random = new Random(42);
+        for (String[] list : lists) {
+            Dictionary answers = WordLists.get(list[0]);
+            Dictionary guesses = WordLists.get(list[1]);
+            CandidateIndex index = CandidateIndex.of(answers);
+            boolean same = true;
+            for (int game = 0; game < 200; game++) {
+                String answer = answers.get(random.nextInt(answers.size()));
+                long[] candidates = index.all();
+                int[] expected = Solver.allCandidates(answers);
+                for (int turn = 0; turn < 4; turn++) {
+                    String guess = guesses.get(random.nextInt(guesses.size()));
+                    int pattern = Feedback.score(guess, answer);
+                    index.narrow(candidates, guess, pattern);
+                    expected = Solver.filter(answers, expected, guess, pattern);
+                    same &= Arrays.equals(CandidateIndex.toIndexes(candidates), expected);
+                }
+            }
+            System.out.println(same);
+        }
+        // Letters that appear twice in the guess but once in the answer
+        Dictionary answers = new Dictionary(Arrays.asList("ABIDE", "SPEED", "EERIE", "THEME"));
+        long[] candidates = CandidateIndex.of(answers).all();
+        CandidateIndex.of(answers).narrow(candidates, "SPEED", Feedback.score("SPEED", "ABIDE"));
+        System.out.println(CandidateIndex.count(candidates) == 1 && (candidates[0] & 1) == 1);
+        System.out.println(CandidateIndex.of(answers) == CandidateIndex.of(answers));
+    }
+}
@@ -0,0 +1,94 @@
+// This is a class for a list of words that can be checked for membership in
+// constant time, however many words it holds. Words are stored as `PackedWord`s
+// in a long array, and an open-addressed hash table of indexes into that array
+// finds a word in a few array reads instead of a scan of the whole list. No
+// String is kept for any word: `get` makes one when a word is shown, while
+// scoring and filtering read the packed words directly.
+
+import java.util.Arrays;
+import java.util.List;
+
+public class Dictionary {
+    // The longest word that can be stored.
+    public static final int MAX_WORD_LENGTH = PackedWord.MAX_LENGTH;
+
+    private final long[] packedWords; // In the order they were given, without duplicates
+    // Hash table of 1 + the index in `packedWords` of the word in each slot. 0 marks
+    // an empty slot. The table size is a power of 2.
+    private final int[] table;
+
+    public Dictionary(List<String> words) {
+        // Keep the table at most half full so that probe sequences stay short.
+        int capacity = Integer.highestOneBit(Math.max(words.size(), 1) * 2 - 1) << 1;
+        this.table = new int[capacity];
+        long[] packed = new long[words.size()];
+        int size = 0;
+        for (String word : words) {
+            long key = PackedWord.pack(word);
+            if (key == -1)
+                throw new IllegalArgumentException("'" + word + "' cannot be stored in a dictionary.");
+            int slot = slotOf(key, packed, table);
+            if (table[slot] == 0) {
+                // Only the first occurrence of a repeated word is kept.
+                packed[size] = key;
+                table[slot] = ++size;
+            }
+        }
+        this.packedWords = size == packed.length ? packed : Arrays.copyOf(packed, size);
+    }
+
+    Dictionary(long[] packedWords, int[] table) {
+        // Constructor for a dictionary whose hash table has already been built, such
+        // as one read back from a `DictionarySnapshot`.
+        this.packedWords = packedWords;
+        this.table = table;
+    }
+
+    public int size() {
+        return packedWords.length;
+    }
+
+    public String get(int index) {
+        return PackedWord.toString(packedWords[index]);
+    }
+
+    public long getPacked(int index) {
+        return packedWords[index];
+    }
+
+    public boolean contains(String word) {
+        return indexOf(word) != -1;
+    }
+
+    public int indexOf(String word) {
+        // Returns the index of `word`, or -1 if it is not in the dictionary.
+        return indexOf(PackedWord.pack(word));
+    }
+
+    public int indexOf(long packed) {
+        if (packed == -1)
+            return -1;
+        return table[slotOf(packed, packedWords, table)] - 1;
+    }
+
+    private static int slotOf(long key, long[] packedWords, int[] table) {
+        // Returns the slot that holds `key`, or the empty slot where it would be
+        // inserted. Uses linear probing from a multiplicative hash of the key.
+        int mask = table.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (table[slot] != 0 && packedWords[table[slot] - 1] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // The following give `DictionarySnapshot` access to the packed form of the
+    // dictionary. The arrays must not be modified.
+    long[] getPackedWords() {
+        return packedWords;
+    }
+
+    int[] getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,158 @@
+// This program compiles the word list files into one binary snapshot so that
+// the game can load its dictionaries without parsing any text. Run it with
+// `java DictionarySnapshot` after changing a `wordlist_*.txt` file. The game
+// memory-maps the snapshot and falls back to the text files when the snapshot
+// is missing or was made from a different version of a file. A text file whose
+// size and modification time are the ones recorded in the snapshot is taken to be
+// unchanged without reading it; otherwise its CRC decides.
+//
+// Layout of the snapshot (numbers are big-endian):
+//   int magic number, int number of word lists
+//   for each word list:
+//     file name (as written by `DataOutputStream.writeUTF`)
+//     int CRC32 of the text file, long its size, long its modification time in ms
+//     int number of words, int size of the hash table
+//     long[number of words] the words, packed as in `PackedWord.pack`
+//     int[size of the hash table] the hash table of the `Dictionary`
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+public class DictionarySnapshot {
+    public static final String FILE_NAME = "./wordlists.bin";
+    private static final int MAGIC = 0x574C5333; // "WLS3"
+
+    public static void main(String[] args) throws IOException {
+        File[] lists = new File(".").listFiles((dir, name) -> name.startsWith("wordlist_") && name.endsWith(".txt"));
+        Arrays.sort(lists);
+        write(lists, FILE_NAME);
+        System.out.println("Wrote " + lists.length + " word lists to " + FILE_NAME + ".");
+    }
+
+    static void write(File[] lists, String snapshotName) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(snapshotName)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(lists.length);
+            for (File list : lists) {
+                // Words are uppercased and deduplicated in exactly the same way as when the
+                // text file is read by the game.
+                Dictionary dictionary = new Dictionary(WordleRound.getWords(list.getPath()));
+                long[] packedWords = dictionary.getPackedWords();
+                int[] table = dictionary.getTable();
+                out.writeUTF(list.getName());
+                out.writeInt(checksum(list.toPath()));
+                out.writeLong(Files.size(list.toPath()));
+                out.writeLong(Files.getLastModifiedTime(list.toPath()).toMillis());
+                out.writeInt(packedWords.length);
+                out.writeInt(table.length);
+                for (long word : packedWords) {
+                    out.writeLong(word);
+                }
+                for (int slot : table) {
+                    out.writeInt(slot);
+                }
+            }
+        }
+    }
+
+    static Dictionary read(String fileName) {
+        // Returns the dictionary of the word list `fileName` from the snapshot, or null
+        // if there is no snapshot, it does not contain this list or the text file has
+        // changed since the snapshot was made.
+        if (Snapshot.buffer == null)
+            return null;
+        Path path = Paths.get(fileName);
+        Integer offset = Snapshot.offsets.get(path.getFileName().toString());
+        if (offset == null)
+            return null;
+
+        // Each read works on its own view of the buffer so that dictionaries can be
+        // read from several threads at once.
+        ByteBuffer buffer = Snapshot.buffer.duplicate();
+        buffer.position(offset);
+        int expectedChecksum = buffer.getInt();
+        long expectedSize = buffer.getLong();
+        long expectedModified = buffer.getLong();
+        try {
+            // Only read the text file when it may have changed.
+            if ((Files.size(path) != expectedSize
+                    || Files.getLastModifiedTime(path).toMillis() != expectedModified)
+                    && checksum(path) != expectedChecksum)
+                return null;
+        } catch (NoSuchFileException e) {
+            // Without the text file, the snapshot is the only copy of the words.
+        } catch (IOException e) {
+            return null;
+        }
+        long[] packedWords = new long[buffer.getInt()];
+        int[] table = new int[buffer.getInt()];
+        buffer.asLongBuffer().get(packedWords);
+        buffer.position(buffer.position() + packedWords.length * Long.BYTES);
+        buffer.asIntBuffer().get(table);
+        return new Dictionary(packedWords, table);
+    }
+
+    static int checksum(Path textFile) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(textFile));
+        return (int) crc.getValue();
+    }
+
+    private static class Snapshot {
+        // The snapshot is mapped the first time a dictionary is read. `buffer` is null
+        // if there is no usable snapshot, or if it has been turned off with
+        // `-Dwordle.snapshot=false`.
+        static final MappedByteBuffer buffer;
+        // Position of the checksum of each word list, by file name.
+        static final HashMap<String, Integer> offsets = new HashMap<String, Integer>();
+
+        static {
+            MappedByteBuffer mapped = null;
+            if (!"false".equals(System.getProperty("wordle.snapshot"))) {
+                try (FileChannel channel = FileChannel.open(Paths.get(FILE_NAME), StandardOpenOption.READ)) {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    if (mapped.getInt() == MAGIC) {
+                        int numLists = mapped.getInt();
+                        for (int i = 0; i < numLists; i++) {
+                            String name = readUTF(mapped);
+                            offsets.put(name, mapped.position());
+                            mapped.getInt(); // checksum
+                            mapped.getLong(); // size
+                            mapped.getLong(); // modification time
+                            int numWords = mapped.getInt();
+                            int tableSize = mapped.getInt();
+                            mapped.position(mapped.position() + numWords * Long.BYTES + tableSize * Integer.BYTES);
+                        }
+                    } else {
+                        mapped = null;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // A missing or damaged snapshot just means the text files are read instead.
+                    mapped = null;
+                    offsets.clear();
+                }
+            }
+            buffer = mapped;
+        }
+
+        private static String readUTF(ByteBuffer buffer) {
+            // Reads a string written by `DataOutputStream.writeUTF`. Word list names are
+            // plain ASCII, which is stored the same way in UTF-8.
+            byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
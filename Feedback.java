@@ -0,0 +1,133 @@
+// This is a class for working out the colour of each letter of a guess. The
+// colours of a whole guess are packed into a single int (a "pattern") so that
+// scoring creates no objects and the result can be shared between the code
+// that prints guesses, the rounds and anything that needs to solve the game.
+
+public class Feedback {
+    // Colours of a single letter. Each letter of a guess takes up one base-3 digit
+    // of a pattern, with the first letter stored in the least significant digit.
+    public static final int WHITE = 0;
+    public static final int ORANGE = 1;
+    public static final int GREEN = 2;
+
+    // The longest guess a pattern can describe. 3^19 is the largest power of 3
+    // that fits in an int.
+    public static final int MAX_LENGTH = 19;
+
+    private static final int[] POWERS_OF_3 = new int[MAX_LENGTH + 1];
+    static {
+        POWERS_OF_3[0] = 1;
+        for (int i = 1; i <= MAX_LENGTH; i++) {
+            POWERS_OF_3[i] = POWERS_OF_3[i - 1] * 3;
+        }
+    }
+
+    // Scratch letter counts used by `score(String, String)` so that each thread
+    // only ever creates one array.
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(Feedback::newScratch);
+
+    public static int[] newScratch() {
+        // Letters are indexed by `letter & 31`, which maps 'A'..'Z' to 1..26 and
+        // keeps any other character inside the array.
+        return new int[32];
+    }
+
+    public static int score(String guess, String answer) {
+        return score(guess, answer, SCRATCH.get());
+    }
+
+    public static int score(String guess, String answer, int[] counts) {
+        // Returns the pattern of colours for `guess` against `answer` following the
+        // rules of Wordle: a letter is green if it is in the right position, and
+        // otherwise orange only while the answer still has unmatched copies of that
+        // letter, counting from the left. `guess` may be longer or shorter than
+        // `answer` (this happens in the Java keywords round).
+        // `counts` must be all zeros and is left all zeros when this method returns.
+        int guessLength = guess.length();
+        int answerLength = answer.length();
+        if (guessLength > MAX_LENGTH)
+            throw new IllegalArgumentException("Guess '" + guess + "' is longer than " + MAX_LENGTH + " letters.");
+
+        // Count the letters of the answer that are not already matched by a green.
+        for (int i = 0; i < answerLength; i++) {
+            char letter = answer.charAt(i);
+            if (i >= guessLength || guess.charAt(i) != letter)
+                counts[letter & 31]++;
+        }
+
+        int pattern = 0;
+        for (int i = 0; i < guessLength; i++) {
+            char letter = guess.charAt(i);
+            if (i < answerLength && answer.charAt(i) == letter) {
+                pattern += GREEN * POWERS_OF_3[i];
+            } else if (counts[letter & 31] > 0) {
+                counts[letter & 31]--;
+                pattern += ORANGE * POWERS_OF_3[i];
+            }
+        }
+
+        // Leave the scratch array clean for the next call.
+        for (int i = 0; i < answerLength; i++) {
+            counts[answer.charAt(i) & 31] = 0;
+        }
+        return pattern;
+    }
+
+    public static int score(long guess, long answer) {
+        return score(guess, answer, SCRATCH.get());
+    }
+
+    public static int score(long guess, long answer, int[] counts) {
+        // The same as `score(String, String, int[])` for words packed by `PackedWord`,
+        // reading each letter with a shift instead of from a String. Past the end of a
+        // word every letter is 0, which never matches a letter of the other word.
+        int answerLength = PackedWord.length(answer);
+        long g = guess;
+        long a = answer;
+        for (int i = 0; i < answerLength; i++) {
+            int letter = (int) a & 31;
+            if (((int) g & 31) != letter)
+                counts[letter]++;
+            g >>>= 5;
+            a >>>= 5;
+        }
+
+        int pattern = 0;
+        g = guess;
+        a = answer;
+        for (int i = 0; g != 0; i++) {
+            int letter = (int) g & 31;
+            if (((int) a & 31) == letter) {
+                pattern += GREEN * POWERS_OF_3[i];
+            } else if (counts[letter] > 0) {
+                counts[letter]--;
+                pattern += ORANGE * POWERS_OF_3[i];
+            }
+            g >>>= 5;
+            a >>>= 5;
+        }
+
+        // Leave the scratch array clean for the next call.
+        for (a = answer; a != 0; a >>>= 5) {
+            counts[(int) a & 31] = 0;
+        }
+        return pattern;
+    }
+
+    public static int colorAt(int pattern, int index) {
+        // Returns the colour of the letter at `index` in a pattern.
+        return pattern / POWERS_OF_3[index] % 3;
+    }
+
+    public static int allGreen(int length) {
+        // Returns the pattern of a correct guess with `length` letters.
+        // 2 * (1 + 3 + ... + 3^(n-1)) = 3^n - 1
+        return POWERS_OF_3[length] - 1;
+    }
+
+    public static int numPatterns(int length) {
+        // Returns the number of different patterns a guess with `length` letters can
+        // have. Patterns of such a guess are always between 0 and this number.
+        return POWERS_OF_3[length];
+    }
+}
@@ -0,0 +1,175 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class FeedbackExhaustiveTest {
+    // Checks the colours of every guess against every answer of every round's word
+    // lists, comparing `Feedback` (on Strings and on packed words) and the colours
+    // `WordleRound` prints with a separate, simpler implementation of the rules.
+    // The guesses are split between all cores. Prints true for each pair of lists
+    // that matches, how fast they were checked, and the first mismatch if any.
+    // Any faster way of scoring guesses should pass this before it is used.
+    private static final String[][] LISTS = { { "./wordlist_5_all.txt", "./wordlist_5_answers.txt" },
+            { "./wordlist_4_all.txt", "./wordlist_4_answers.txt" },
+            { "./wordlist_6_all.txt", "./wordlist_6_answers.txt" },
+            { "./wordlist_java_keywords.txt", "./wordlist_java_keywords.txt" } };
+
+    private static final String[] COLORS = { Utils.WHITE, Utils.ORANGE, Utils.GREEN };
+
+    public static void main(String[] args) {
+        int cores = ForkJoinPool.commonPool().getParallelism();
+        long totalPairs = 0;
+        long totalNanos = 0;
+        for (String[] list : LISTS) {
+            Dictionary guesses = WordLists.get(list[0]);
+            Dictionary answers = WordLists.get(list[1]);
+            long start = System.nanoTime();
+            // Make each answer's String once instead of once per guess.
+            String[] answerWords = new String[answers.size()];
+            for (int i = 0; i < answerWords.length; i++) {
+                answerWords[i] = answers.get(i);
+            }
+            Mismatch mismatch = ForkJoinPool.commonPool()
+                    .invoke(new CheckTask(guesses, answers, answerWords, 0, guesses.size()));
+            long nanos = System.nanoTime() - start;
+            long pairs = (long) guesses.size() * answers.size();
+            totalPairs += pairs;
+            totalNanos += nanos;
+            System.out.println(mismatch == null);
+            System.out.format("%s x %s: %d pairs in %.2f s, %.1f million pairs/s%n", list[0], list[1], pairs,
+                    nanos / 1e9, pairs / (nanos / 1e3));
+            if (mismatch != null)
+                System.out.println("First mismatch: " + mismatch);
+        }
+        System.out.format("%d pairs in %.2f s on %d cores, %.1f million pairs/s%n", totalPairs, totalNanos / 1e9,
+                cores, totalPairs / (totalNanos / 1e3));
+    }
+
+    static int[] referenceColors(String guess, String answer) {
+        // The rules of Wordle, written out position by position: first every letter in
+        // the right place is green and uses up that letter of the answer, then from
+        // the left each other letter is orange if it can use up a letter of the answer
+        // that has not been used yet, and white otherwise. The guess and the answer
+        // can have different lengths.
+        int[] colors = new int[guess.length()];
+        boolean[] used = new boolean[answer.length()];
+        for (int i = 0; i < guess.length() && i < answer.length(); i++) {
+            if (guess.charAt(i) == answer.charAt(i)) {
+                colors[i] = Feedback.GREEN;
+                used[i] = true;
+            }
+        }
+        for (int i = 0; i < guess.length(); i++) {
+            if (colors[i] == Feedback.GREEN)
+                continue;
+            for (int j = 0; j < answer.length(); j++) {
+                if (!used[j] && answer.charAt(j) == guess.charAt(i)) {
+                    colors[i] = Feedback.ORANGE;
+                    used[j] = true;
+                    break;
+                }
+            }
+        }
+        return colors;
+    }
+
+    private static class Mismatch {
+        final String guess;
+        final String answer;
+        final String found;
+
+        Mismatch(String guess, String answer, String found) {
+            this.guess = guess;
+            this.answer = answer;
+            this.found = found;
+        }
+
+        @Override
+        public String toString() {
+            return "guess " + guess + ", answer " + answer + ": " + found;
+        }
+    }
+
+    private static class CheckTask extends RecursiveTask<Mismatch> {
+        // Checks guesses `start` (inclusive) to `end` (exclusive) against every answer,
+        // splitting the range in half until it is small enough to check directly.
+        // Returns the first mismatch in the range, in the order of the lists.
+        private static final long serialVersionUID = 1L;
+        private static final int MIN_GUESSES_TO_SPLIT = 64;
+
+        private final Dictionary guesses;
+        private final Dictionary answers;
+        private final String[] answerWords;
+        private final int start;
+        private final int end;
+
+        CheckTask(Dictionary guesses, Dictionary answers, String[] answerWords, int start, int end) {
+            this.guesses = guesses;
+            this.answers = answers;
+            this.answerWords = answerWords;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Mismatch compute() {
+            if (end - start > MIN_GUESSES_TO_SPLIT) {
+                int middle = (start + end) >>> 1;
+                CheckTask left = new CheckTask(guesses, answers, answerWords, start, middle);
+                left.fork();
+                Mismatch right = new CheckTask(guesses, answers, answerWords, middle, end).compute();
+                Mismatch first = left.join();
+                return first != null ? first : right;
+            }
+
+            int[] counts = Feedback.newScratch();
+            for (int g = start; g < end; g++) {
+                String guess = guesses.get(g);
+                long packedGuess = guesses.getPacked(g);
+                for (int a = 0; a < answers.size(); a++) {
+                    String answer = answerWords[a];
+                    int[] expected = referenceColors(guess, answer);
+                    int pattern = Feedback.score(guess, answer, counts);
+                    for (int i = 0; i < expected.length; i++) {
+                        if (Feedback.colorAt(pattern, i) != expected[i])
+                            return new Mismatch(guess, answer, "Feedback.score gives " + describe(pattern, guess)
+                                    + " instead of " + describe(expected));
+                    }
+                    int packedPattern = Feedback.score(packedGuess, answers.getPacked(a), counts);
+                    if (packedPattern != pattern)
+                        return new Mismatch(guess, answer, "Feedback.score on packed words gives "
+                                + describe(packedPattern, guess) + " instead of " + describe(expected));
+                    // Printing only turns a pattern into colour codes, so it is checked once for
+                    // each guess.
+                    if (a == 0 && !WordleRound.coloredWord(guess, pattern).equals(render(guess, expected)))
+                        return new Mismatch(guess, answer, "the guess is printed in the wrong colours");
+                }
+            }
+            return null;
+        }
+    }
+
+    private static String render(String guess, int[] colors) {
+        String word = "";
+        for (int i = 0; i < guess.length(); i++) {
+            word += COLORS[colors[i]] + guess.charAt(i);
+        }
+        return word + Utils.RESET;
+    }
+
+    private static String describe(int[] colors) {
+        // Writes colours like "WOGWW".
+        String letters = "";
+        for (int color : colors) {
+            letters += "WOG".charAt(color);
+        }
+        return letters;
+    }
+
+    private static String describe(int pattern, String guess) {
+        int[] colors = new int[guess.length()];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = Feedback.colorAt(pattern, i);
+        }
+        return describe(colors);
+    }
+}
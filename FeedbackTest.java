@@ -0,0 +1,55 @@
+import java.util.ArrayList;
+
+public class FeedbackTest {
+    public static void main(String[] args) {
+        // Colours of each letter
+        int pattern = Feedback.score("CRANE", "CRANE");
+        System.out.println(pattern == Feedback.allGreen(5));
+        pattern = Feedback.score("SPEED", "ABIDE");
+        System.out.println(Feedback.colorAt(pattern, 0) == Feedback.WHITE);
+        System.out.println(Feedback.colorAt(pattern, 2) == Feedback.ORANGE);
+        // Only one E in the answer, so the second E in the guess is white
+        System.out.println(Feedback.colorAt(pattern, 3) == Feedback.WHITE);
+        System.out.println(Feedback.colorAt(pattern, 4) == Feedback.ORANGE);
+        // A green takes priority over an earlier orange of the same letter
+        pattern = Feedback.score("EERIE", "THEME");
+        System.out.println(Feedback.colorAt(pattern, 0) == Feedback.ORANGE);
+        System.out.println(Feedback.colorAt(pattern, 1) == Feedback.WHITE);
+        System.out.println(Feedback.colorAt(pattern, 4) == Feedback.GREEN);
+        // Guesses longer and shorter than the answer
+        pattern = Feedback.score("BOOLEAN", "BYTE");
+        System.out.println(Feedback.colorAt(pattern, 0) == Feedback.GREEN);
+        System.out.println(Feedback.colorAt(pattern, 4) == Feedback.ORANGE);
+        pattern = Feedback.score("INT", "INTERFACE");
+        System.out.println(pattern == Feedback.allGreen(3));
+
+        // Scoring every guess against every answer of the classic round should take
+        // well under a second.
+        ArrayList<String> guesses = WordleRound.getWords("./wordlist_5_all.txt");
+        ArrayList<String> answers = WordleRound.getWords("./wordlist_5_answers.txt");
+        int[] counts = Feedback.newScratch();
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (String guess : guesses) {
+            for (String answer : answers) {
+                checksum += Feedback.score(guess, answer, counts);
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println(checksum > 0 && millis < 1000);
+
+        // Scoring packed words gives the same patterns, including the Java keywords of
+        // different lengths.
+        boolean samePacked = true;
+        for (String list : new String[] { "./wordlist_5_answers.txt", "./wordlist_java_keywords.txt" }) {
+            ArrayList<String> words = WordleRound.getWords(list);
+            for (String guess : words) {
+                for (String answer : words) {
+                    samePacked &= Feedback.score(PackedWord.pack(guess), PackedWord.pack(answer), counts) == Feedback
+                            .score(guess, answer, counts);
+                }
+            }
+        }
+        System.out.println(samePacked);
+    }
+}
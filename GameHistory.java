@@ -0,0 +1,435 @@
+// This is a class that keeps a log of every round that was played to the end,
+// for the statistics screen. Each round is appended to a binary file as one
+// record, with its guesses stored as indexes into the round's dictionary and
+// their colours as patterns packed by `Feedback`.
+// The start of the file is a summary of every record in it (rounds played and
+// won, win streaks and the guess distribution of each round), which is updated
+// whenever a record is appended, so the statistics screen only has to read the
+// summary however long the log is. The summary also says how much of the log it
+// covers: if a game crashed after appending a record but before updating the
+// summary, the records after that point are added to it the next time it is
+// read. `rebuild` recomputes the summary from every record, splitting the log
+// between all cores with a ForkJoinPool.
+// Several games, in this process or in other processes, can append at the same
+// time because the file is locked while a record is appended.
+//
+// Layout of the file (numbers are big-endian):
+//   summary: int magic number, long bytes covered by the summary, then the
+//     totals written by `Summary.write`, which always take `Summary.SIZE` bytes
+//   for each round:
+//     int number of bytes in the rest of the record
+//     byte round number (as on the rounds screen), byte flags (won, hard mode)
+//     int points, byte number of boards, short number of guesses
+//     for each guess: int index of the guess in the round's dictionary, and
+//     int pattern on each board (-1 once a board is solved)
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class GameHistory {
+    private static final int MAGIC = 0x47484C31; // "GHL1"
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Summary.SIZE;
+    // Flags of a record.
+    private static final int WON = 1;
+    private static final int HARD_MODE = 2;
+    // Records are folded on one thread in chunks of at least this many.
+    private static final int REBUILD_CHUNK = 16384;
+
+    private final String fileName;
+
+    public GameHistory(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Recomputes the summary of a log, eg. after copying records between logs.
+        GameHistory history = new GameHistory(args.length > 0 ? args[0] : GameShow.HISTORY_FILE);
+        long start = System.nanoTime();
+        Summary summary = history.rebuild();
+        System.out.format("Rebuilt the summary of %d rounds in %.1f ms.%n", summary.played,
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    // `append`, `getSummary` and `rebuild` hold a lock on the file for the whole try
+    // statement without otherwise using it.
+    @SuppressWarnings("try")
+    public synchronized boolean append(Record record) {
+        // Appends a round to the log and adds it to the summary. Returns whether the
+        // round was saved.
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+            Summary summary = readSummary(channel);
+            if (summary == null)
+                summary = rebuild(channel);
+            // Drop a record that was only partly written when a game crashed.
+            if (channel.size() > summary.covered)
+                channel.truncate(summary.covered);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            record.write(new DataOutputStream(bytes));
+            channel.write(ByteBuffer.wrap(bytes.toByteArray()), summary.covered);
+            summary.add(record.roundNumber, record.won, record.getNumGuesses());
+            summary.covered += bytes.size();
+            writeSummary(channel, summary);
+            channel.force(false);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("try")
+    public synchronized Summary getSummary() {
+        // Returns the summary of every round in the log. This only reads the start of
+        // the file, and any records that were appended without updating it.
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ,
+                StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+            Summary summary = readSummary(channel);
+            return summary != null ? summary : rebuild(channel);
+        } catch (NoSuchFileException e) {
+            // No rounds have been played yet.
+        } catch (IOException | RuntimeException e) {
+            // The statistics are not worth stopping the game for.
+        }
+        return new Summary();
+    }
+
+    @SuppressWarnings("try")
+    public synchronized Summary rebuild() throws IOException {
+        // Recomputes the summary from every record, and saves it.
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+            return rebuild(channel);
+        }
+    }
+
+    private static Summary readSummary(FileChannel channel) throws IOException {
+        // Returns the summary at the start of the file, with any records after the part
+        // it covers added to it, or null if there is no valid summary.
+        if (channel.size() < HEADER_SIZE)
+            return null;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC)
+            return null;
+        Summary summary = new Summary();
+        summary.covered = header.getLong();
+        summary.read(header);
+        if (summary.covered < HEADER_SIZE || summary.covered > channel.size())
+            return null;
+        if (summary.covered < channel.size()) {
+            MappedByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, summary.covered,
+                    channel.size() - summary.covered);
+            int[] offsets = findRecords(tail);
+            Summary caughtUp = fold(tail, offsets, 0, offsets.length - 1);
+            summary.merge(caughtUp);
+            summary.covered += offsets[offsets.length - 1];
+            writeSummary(channel, summary);
+        }
+        return summary;
+    }
+
+    private static void writeSummary(FileChannel channel, Summary summary) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putLong(summary.covered);
+        summary.write(header);
+        header.flip();
+        channel.write(header, 0);
+    }
+
+    private static Summary rebuild(FileChannel channel) throws IOException {
+        // The records always start right after the summary, so a damaged summary can be
+        // recomputed from them. A file too short to have a summary is started again.
+        if (channel.size() < HEADER_SIZE) {
+            channel.truncate(0);
+            Summary summary = new Summary();
+            summary.covered = HEADER_SIZE;
+            writeSummary(channel, summary);
+            return summary;
+        }
+        MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE,
+                channel.size() - HEADER_SIZE);
+        int[] offsets = findRecords(records);
+        Summary summary = ForkJoinPool.commonPool().invoke(new FoldTask(records, offsets, 0, offsets.length - 1));
+        summary.covered = HEADER_SIZE + offsets[offsets.length - 1];
+        writeSummary(channel, summary);
+        return summary;
+    }
+
+    private static int[] findRecords(ByteBuffer records) {
+        // Returns where each complete record starts, followed by where the last one
+        // ends. Only the length of each record is read.
+        int[] offsets = new int[1024];
+        int numRecords = 0;
+        int position = 0;
+        while (position + Integer.BYTES <= records.limit()) {
+            int length = records.getInt(position);
+            if (length < 0 || length > records.limit() - position - Integer.BYTES)
+                break; // A record that was only partly written.
+            if (numRecords + 1 == offsets.length)
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            offsets[numRecords++] = position;
+            position += Integer.BYTES + length;
+        }
+        offsets[numRecords] = position;
+        return Arrays.copyOf(offsets, numRecords + 1);
+    }
+
+    private static Summary fold(ByteBuffer records, int[] offsets, int start, int end) {
+        // Adds up the records from `offsets[start]` (inclusive) to `offsets[end]`
+        // (exclusive). Only the fixed fields at the start of each record are read.
+        Summary summary = new Summary();
+        for (int i = start; i < end; i++) {
+            int position = offsets[i] + Integer.BYTES;
+            int roundNumber = records.get(position);
+            boolean won = (records.get(position + 1) & WON) != 0;
+            int numGuesses = records.getShort(position + 7);
+            summary.add(roundNumber, won, numGuesses);
+        }
+        return summary;
+    }
+
+    private static class FoldTask extends RecursiveTask<Summary> {
+        // Adds up a range of records by splitting it in two until the halves are small
+        // enough, then merging the summaries of the halves in order.
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer records;
+        private final int[] offsets;
+        private final int start;
+        private final int end;
+
+        FoldTask(ByteBuffer records, int[] offsets, int start, int end) {
+            this.records = records;
+            this.offsets = offsets;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (end - start <= REBUILD_CHUNK)
+                return fold(records, offsets, start, end);
+            int middle = (start + end) >>> 1;
+            FoldTask second = new FoldTask(records, offsets, middle, end);
+            second.fork();
+            Summary summary = new FoldTask(records, offsets, start, middle).compute();
+            summary.merge(second.join());
+            return summary;
+        }
+    }
+
+    public static class Record {
+        // One round as it is played, built from the guesses a `Session` sees.
+        final int roundNumber;
+        final boolean hardMode;
+        private final int numBoards;
+        private final int numGuessesAllowed;
+        private final Dictionary allWords;
+        private final ArrayList<Integer> words = new ArrayList<Integer>();
+        private final ArrayList<int[]> patterns = new ArrayList<int[]>();
+        // The guess that solved each board, counting from 1, or 0.
+        private final int[] solvedAt;
+        private int lastBoard = Integer.MAX_VALUE;
+        int points = 0;
+        boolean won = false;
+
+        public Record(int roundNumber, int numBoards, int numGuessesAllowed, boolean hardMode, Dictionary allWords) {
+            this.roundNumber = roundNumber;
+            this.numBoards = numBoards;
+            this.numGuessesAllowed = numGuessesAllowed;
+            this.hardMode = hardMode;
+            this.allWords = allWords;
+            this.solvedAt = new int[numBoards];
+        }
+
+        public void guessScored(int board, String guess, int pattern, boolean correct) {
+            // A guess is scored on each unsolved board in turn, so a board that is not
+            // after the last one starts the next guess. Only a correct guess solves a
+            // board: in the Java keywords round a guess that starts the answer, like INT
+            // for INTERFACE, is all green too.
+            if (board <= lastBoard) {
+                words.add(allWords.indexOf(guess));
+                int[] guessPatterns = new int[numBoards];
+                Arrays.fill(guessPatterns, -1);
+                patterns.add(guessPatterns);
+            }
+            patterns.get(patterns.size() - 1)[board] = pattern;
+            if (correct && solvedAt[board] == 0)
+                solvedAt[board] = patterns.size();
+            lastBoard = board;
+        }
+
+        public void finish(int points) {
+            // The round is won if every board was solved within the allowed guesses.
+            this.points = points;
+            won = true;
+            for (int guess : solvedAt) {
+                won &= guess > 0 && guess <= numGuessesAllowed;
+            }
+        }
+
+        public int getNumGuesses() {
+            return words.size();
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(1 + 1 + 4 + 1 + 2 + words.size() * (1 + numBoards) * Integer.BYTES);
+            out.writeByte(roundNumber);
+            out.writeByte((won ? WON : 0) | (hardMode ? HARD_MODE : 0));
+            out.writeInt(points);
+            out.writeByte(numBoards);
+            out.writeShort(words.size());
+            for (int i = 0; i < words.size(); i++) {
+                out.writeInt(words.get(i));
+                for (int pattern : patterns.get(i)) {
+                    out.writeInt(pattern);
+                }
+            }
+        }
+    }
+
+    public static class Summary {
+        // Totals of a run of records, kept for each round number. Two runs can be merged
+        // as long as the earlier one is merged with the later one, because of the
+        // streaks.
+        static final int NUM_ROUNDS = 16;
+        // Wins in this many guesses or more are counted together.
+        static final int MAX_GUESSES = 40;
+        static final int SIZE = 2 * Long.BYTES + 3 * Integer.BYTES
+                + NUM_ROUNDS * (3 + MAX_GUESSES) * Long.BYTES;
+
+        long covered = 0;
+        long played = 0;
+        long won = 0;
+        // Rounds won in a row at the start and at the end of the run, and the most
+        // anywhere in it.
+        int leadingWins = 0;
+        int currentStreak = 0;
+        int bestStreak = 0;
+        final long[] roundPlayed = new long[NUM_ROUNDS];
+        final long[] roundWon = new long[NUM_ROUNDS];
+        // Total number of guesses of the rounds that were won.
+        final long[] roundGuesses = new long[NUM_ROUNDS];
+        // distribution[round][n - 1]: rounds won in n guesses.
+        final long[][] distribution = new long[NUM_ROUNDS][MAX_GUESSES];
+
+        void add(int roundNumber, boolean isWon, int numGuesses) {
+            int round = Math.max(0, Math.min(roundNumber, NUM_ROUNDS - 1));
+            played++;
+            roundPlayed[round]++;
+            if (isWon) {
+                won++;
+                roundWon[round]++;
+                roundGuesses[round] += numGuesses;
+                distribution[round][Math.max(0, Math.min(numGuesses, MAX_GUESSES) - 1)]++;
+                if (leadingWins == played - 1)
+                    leadingWins++;
+                currentStreak++;
+                bestStreak = Math.max(bestStreak, currentStreak);
+            } else {
+                currentStreak = 0;
+            }
+        }
+
+        void merge(Summary later) {
+            // Adds the totals of the records that come after these ones.
+            bestStreak = Math.max(Math.max(bestStreak, later.bestStreak), currentStreak + later.leadingWins);
+            if (leadingWins == played)
+                leadingWins += later.leadingWins;
+            currentStreak = later.currentStreak == later.played ? currentStreak + later.currentStreak
+                    : later.currentStreak;
+            played += later.played;
+            won += later.won;
+            for (int round = 0; round < NUM_ROUNDS; round++) {
+                roundPlayed[round] += later.roundPlayed[round];
+                roundWon[round] += later.roundWon[round];
+                roundGuesses[round] += later.roundGuesses[round];
+                for (int i = 0; i < MAX_GUESSES; i++) {
+                    distribution[round][i] += later.distribution[round][i];
+                }
+            }
+        }
+
+        void write(ByteBuffer out) {
+            out.putLong(played);
+            out.putLong(won);
+            out.putInt(leadingWins);
+            out.putInt(currentStreak);
+            out.putInt(bestStreak);
+            for (int round = 0; round < NUM_ROUNDS; round++) {
+                out.putLong(roundPlayed[round]);
+                out.putLong(roundWon[round]);
+                out.putLong(roundGuesses[round]);
+                for (long count : distribution[round]) {
+                    out.putLong(count);
+                }
+            }
+        }
+
+        void read(ByteBuffer in) {
+            played = in.getLong();
+            won = in.getLong();
+            leadingWins = in.getInt();
+            currentStreak = in.getInt();
+            bestStreak = in.getInt();
+            for (int round = 0; round < NUM_ROUNDS; round++) {
+                roundPlayed[round] = in.getLong();
+                roundWon[round] = in.getLong();
+                roundGuesses[round] = in.getLong();
+                for (int i = 0; i < MAX_GUESSES; i++) {
+                    distribution[round][i] = in.getLong();
+                }
+            }
+        }
+
+        public long getPlayed() {
+            return played;
+        }
+
+        public long getWon() {
+            return won;
+        }
+
+        public int getCurrentStreak() {
+            return currentStreak;
+        }
+
+        public int getBestStreak() {
+            return bestStreak;
+        }
+
+        public long getPlayed(int roundNumber) {
+            return roundPlayed[roundNumber];
+        }
+
+        public long getWon(int roundNumber) {
+            return roundWon[roundNumber];
+        }
+
+        public double getAverageGuesses(int roundNumber) {
+            // Average number of guesses of the rounds that were won.
+            return roundWon[roundNumber] == 0 ? 0 : (double) roundGuesses[roundNumber] / roundWon[roundNumber];
+        }
+
+        public long getWins(int numGuesses) {
+            // Rounds of any kind that were won in `numGuesses` guesses.
+            long wins = 0;
+            for (long[] roundDistribution : distribution) {
+                wins += roundDistribution[numGuesses - 1];
+            }
+            return wins;
+        }
+    }
+}
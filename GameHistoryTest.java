@@ -0,0 +1,94 @@
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class GameHistoryTest {
+    public static void main(String[] args) throws Exception {
+        Dictionary words = WordLists.get("./wordlist_5_all.txt");
+        Random random = new Random(42);
+
+        // Appended rounds are added to the summary as they are saved.
+        File file = File.createTempFile("history", ".bin");
+        file.deleteOnExit();
+        file.delete();
+        GameHistory history = new GameHistory(file.getPath());
+        GameHistory.Summary expected = new GameHistory.Summary();
+        boolean allSaved = true;
+        for (int i = 0; i < 500; i++) {
+            GameHistory.Record record = randomRecord(words, random);
+            allSaved &= history.append(record);
+            expected.add(record.roundNumber, record.won, record.getNumGuesses());
+        }
+        System.out.println(allSaved);
+        System.out.println(Arrays.equals(bytes(history.getSummary()), bytes(expected)));
+
+        // Rebuilding the summary from the records gives the same totals.
+        System.out.println(Arrays.equals(bytes(history.rebuild()), bytes(expected)));
+
+        // A record appended without updating the summary, as if the game crashed, is
+        // added the next time the summary is read. A record that was only partly
+        // written is ignored, and then replaced by the next record.
+        GameHistory.Record unsummarized = randomRecord(words, random);
+        GameHistory.Record next = randomRecord(words, random);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+            unsummarized.write(out);
+            out.writeInt(1000);
+            out.writeByte(1);
+        }
+        expected.add(unsummarized.roundNumber, unsummarized.won, unsummarized.getNumGuesses());
+        System.out.println(Arrays.equals(bytes(history.getSummary()), bytes(expected)));
+        history.append(next);
+        expected.add(next.roundNumber, next.won, next.getNumGuesses());
+        System.out.println(Arrays.equals(bytes(history.rebuild()), bytes(expected)));
+
+        // A large log without a valid summary is rebuilt in parallel, and the streaks
+        // that cross the parts it is split into are counted once.
+        File large = File.createTempFile("history", ".bin");
+        large.deleteOnExit();
+        GameHistory.Summary expectedLarge = new GameHistory.Summary();
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(large))) {
+            out.write(new byte[GameHistory.HEADER_SIZE]);
+            for (int i = 0; i < 100000; i++) {
+                GameHistory.Record record = randomRecord(words, random);
+                record.write(out);
+                expectedLarge.add(record.roundNumber, record.won, record.getNumGuesses());
+            }
+        }
+        GameHistory largeHistory = new GameHistory(large.getPath());
+        System.out.println(Arrays.equals(bytes(largeHistory.getSummary()), bytes(expectedLarge)));
+        System.out.println(expectedLarge.getBestStreak() > 10 && expectedLarge.getPlayed() == 100000);
+
+        // In the Java keywords round a guess that starts the answer is all green, but
+        // does not win the round.
+        Dictionary keywords = WordLists.get("./wordlist_java_keywords.txt");
+        GameHistory.Record prefixGuesses = new GameHistory.Record(5, 1, 6, false, keywords);
+        for (String guess : new String[] { "INT", "DO", "FINAL" }) {
+            prefixGuesses.guessScored(0, guess, Feedback.score(guess, "INTERFACE"), guess.equals("INTERFACE"));
+        }
+        prefixGuesses.finish(0);
+        System.out.println(!prefixGuesses.won);
+    }
+
+    private static GameHistory.Record randomRecord(Dictionary words, Random random) {
+        // A classic round that is usually won, so that there are long streaks.
+        GameHistory.Record record = new GameHistory.Record(1 + random.nextInt(3), 1, 6, false, words);
+        String answer = words.get(random.nextInt(words.size()));
+        int numGuesses = 1 + random.nextInt(7);
+        for (int i = 0; i < numGuesses; i++) {
+            String guess = i == numGuesses - 1 && random.nextInt(8) != 0 ? answer
+                    : words.get(random.nextInt(words.size()));
+            record.guessScored(0, guess, Feedback.score(guess, answer), guess.equals(answer));
+        }
+        record.finish(100);
+        return record;
+    }
+
+    private static byte[] bytes(GameHistory.Summary summary) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameHistory.Summary.SIZE);
+        summary.write(buffer);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,134 @@
+// This program hosts the game show for many players at once. Players connect to
+// it on this computer with a telnet-style client (eg. `nc localhost 4000`) and
+// each connection plays its own game on its own thread, while the word lists and
+// the leaderboard are shared by everyone.
+// Run it with `java GameShow --serve [port]`.
+// Each connection gets a virtual thread when the JVM has them (Java 21 and
+// later), and otherwise a platform thread with a small stack.
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GameServer {
+    private static final int DEFAULT_PORT = 4000;
+    // Stack size of the platform threads that are used without virtual threads.
+    // The screens are shown one after the other by a loop, so the stack is no deeper
+    // after many games than after one. A whole game, with hints, the leaderboard and
+    // the statistics, runs with the smallest stack the JVM allows, so this leaves
+    // plenty of room while keeping thousands of sessions cheap.
+    private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+    // Creates virtual threads through reflection, so that the game still compiles
+    // and runs on JVMs without them. Null if they are not available.
+    private static final Object VIRTUAL_THREAD_BUILDER;
+    private static final Method UNSTARTED;
+
+    static {
+        Object builder = null;
+        Method unstarted = null;
+        try {
+            builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            // Virtual threads may be a preview feature that is turned off.
+            unstarted.invoke(builder, (Runnable) () -> {
+            });
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            builder = null;
+            unstarted = null;
+        }
+        VIRTUAL_THREAD_BUILDER = builder;
+        UNSTARTED = unstarted;
+    }
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger totalSessions = new AtomicInteger();
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        try {
+            GameServer server = new GameServer(port);
+            System.out.println("Hosting the Wordle game show on localhost:" + server.getPort() + " using "
+                    + (usesVirtualThreads() ? "virtual" : "platform") + " threads.");
+            server.serve();
+        } catch (IOException e) {
+            System.out.println(Utils.RED + "Could not host the game show on port " + port + ": " + e.getMessage()
+                    + Utils.RESET);
+        }
+    }
+
+    public GameServer(int port) throws IOException {
+        // Only players on this computer can connect. A port of 0 picks a free port.
+        serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    public int getTotalSessions() {
+        return totalSessions.get();
+    }
+
+    public static boolean usesVirtualThreads() {
+        return VIRTUAL_THREAD_BUILDER != null;
+    }
+
+    public void serve() throws IOException {
+        // Accepts connections until the server is closed.
+        while (true) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed())
+                    return;
+                throw e;
+            }
+            activeSessions.incrementAndGet();
+            totalSessions.incrementAndGet();
+            newThread(() -> play(socket)).start();
+        }
+    }
+
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void play(Socket socket) {
+        // Plays one connection's game until the player quits or disconnects.
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            Session session = new Session(new Scanner(socket.getInputStream(), StandardCharsets.UTF_8),
+                    socket.getOutputStream());
+            GameShow.play(session);
+        } catch (IOException e) {
+            // The player disconnected, and there is no one to tell.
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    private static Thread newThread(Runnable task) {
+        if (VIRTUAL_THREAD_BUILDER != null) {
+            try {
+                return (Thread) UNSTARTED.invoke(VIRTUAL_THREAD_BUILDER, task);
+            } catch (ReflectiveOperationException e) {
+                // Fall back to a platform thread below.
+            }
+        }
+        Thread thread = new Thread(null, task, "session", PLATFORM_STACK_SIZE);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
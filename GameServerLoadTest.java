@@ -0,0 +1,105 @@
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+public class GameServerLoadTest {
+    // Connects thousands of players to one server at the same time, measures how
+    // much memory each session takes while they all wait at the main menu, then
+    // has every player look at the leaderboard and quit.
+    public static void main(String[] args) throws Exception {
+        int numPlayers = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        GameServer server = new GameServer(0);
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+        serverThread.start();
+        // Load the shared leaderboard once so it does not count towards the sessions.
+        connect(server).close();
+        waitFor(() -> server.getActiveSessions() == 0);
+
+        long before = usedMemory();
+        long start = System.nanoTime();
+        Socket[] players = new Socket[numPlayers];
+        boolean allWelcomed = true;
+        for (int i = 0; i < numPlayers; i++) {
+            players[i] = connect(server);
+        }
+        for (Socket player : players) {
+            allWelcomed &= readUntil(player, "A - Acknowledgements");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int active = server.getActiveSessions();
+        long perSession = (usedMemory() - before) / numPlayers;
+
+        boolean allQuit = true;
+        for (Socket player : players) {
+            send(player, "L\nR\nQ\n");
+        }
+        for (Socket player : players) {
+            allQuit &= readUntil(player, "LEADERBOARD") && readUntil(player, "Bye bye!");
+            player.close();
+        }
+        waitFor(() -> server.getActiveSessions() == 0);
+        server.close();
+        serverThread.join();
+
+        System.out.println(allWelcomed);
+        System.out.println(active == numPlayers);
+        System.out.println(allQuit);
+        // Quitting ends only that player's session.
+        System.out.println(server.getActiveSessions() == 0);
+        // Each waiting session should take well under a quarter of a megabyte of heap.
+        System.out.println(perSession < 256 * 1024);
+        System.out.format("%d concurrent sessions on %s threads, started in %.2f s, %d KB of heap each%n",
+                numPlayers, GameServer.usesVirtualThreads() ? "virtual" : "platform", seconds, perSession / 1024);
+    }
+
+    private static Socket connect(GameServer server) throws Exception {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(30000);
+        return socket;
+    }
+
+    private static void send(Socket socket, String lines) throws Exception {
+        OutputStream out = socket.getOutputStream();
+        out.write(lines.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static boolean readUntil(Socket socket, String text) throws Exception {
+        // Reads the player's screen until `text` appears, one byte at a time so that
+        // nothing after it is consumed.
+        InputStream in = socket.getInputStream();
+        StringBuilder seen = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            seen.append((char) b);
+            if (seen.length() >= text.length() && seen.indexOf(text, seen.length() - text.length()) != -1)
+                return true;
+        }
+        return false;
+    }
+
+    private static long usedMemory() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
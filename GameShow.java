@@ -8,299 +8,453 @@ import java.util.ArrayList;
 import java.util.Scanner;
 
 public class GameShow {
-    private static final WordleRound[] ROUNDS = {
+    static final WordleRound[] ROUNDS = {
             new Round1(),
             new Round2(),
             new Round3(),
             new Round4(),
             new Round5(),
+            new Round6(),
+    };
+
+    // Rounds that can only be played from the rounds screen, for practice. They are
+    // numbered after the rounds of the game show.
+    static final WordleRound[] PRACTICE_ROUNDS = {
+            new Quordle(),
+            new Octordle(),
+            new Sedecordle(),
+            new Duotrigordle(),
     };
 
     // Standardized character to separate name and score in the leaderboard file
     private static final char separator = '/';
 
+    private static final String LEADERBOARD_FILE = "./leaderboard.txt";
+    // The leaderboard file, kept sorted in memory. It reads new scores from the file
+    // whenever it is refreshed.
+    private static final Leaderboard leaderboard = new Leaderboard(LEADERBOARD_FILE, separator);
+    // Saves scores to the leaderboard file, even while other games are saving to it.
+    private static final LeaderboardWriter leaderboardWriter = new LeaderboardWriter(LEADERBOARD_FILE, separator);
+    // Number of players shown on each page of the leaderboard screen
+    private static final int LEADERBOARD_PAGE_SIZE = 20;
+
+    static final String HISTORY_FILE = "./history.bin";
+    // Every round that was played to the end, for the statistics screen.
+    private static final GameHistory history = new GameHistory(HISTORY_FILE);
+
     public static void main(String[] args) {
-        Scanner in = new Scanner(System.in);
-        welcomeScreen(in);
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            // Headless mode: bots play the game show without any terminal I/O.
+            Simulation.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        } else if (args.length > 0 && args[0].equals("--serve")) {
+            // Host the game show for players who connect over the network.
+            GameServer.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        Session session = new Session(new Scanner(System.in), new FileOutputStream(FileDescriptor.out));
+        for (String arg : args) {
+            if (arg.equals("--alternate-screen")) {
+                session.useAlternateScreen();
+                // Also give the terminal its screen back if the game is stopped with Ctrl+C.
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    System.out.print(Terminal.LEAVE_ALTERNATE_SCREEN);
+                    System.out.flush();
+                }));
+            } else if (arg.equals("--turbo")) {
+                // Turn off every animation and pause.
+                Animator.setTurbo(true);
+            }
+        }
+        // Read single keys if the terminal allows it, to check guesses as they are typed.
+        RawInput rawInput = RawInput.start();
+        if (rawInput != null)
+            session.useRawInput(rawInput);
+        play(session);
     }
 
-    private static void beginGame(Scanner in) {
-        Utils.clearScreen();
-        int totalScore = 0;
-        int numRounds = ROUNDS.length;
-        // Loop through and play all the rounds. Only display rules on the first round.
-        WordleRound round1 = ROUNDS[0];
-        round1.begin(in, 1, false);
-        totalScore = round1.play(in, totalScore, true);
-        for (int i = 2; i < numRounds + 1; i++) {
-            WordleRound currentRound = ROUNDS[i - 1];
-            currentRound.begin(in, i, true);
-            totalScore = currentRound.play(in, totalScore, true);
+    // The screens of the game show. Each screen returns the screen to show next, and
+    // `play` shows them one after the other, so moving between screens never makes
+    // the stack deeper however long the game show is played.
+    enum Screen {
+        WELCOME, GAME, ROUNDS, LEADERBOARD, STATISTICS, ACKNOWLEDGEMENTS, QUIT
+    }
+
+    static void play(Session session) {
+        // Shows the main menu and plays until the player quits or their input ends.
+        session.setHistory(history);
+        Screen screen = Screen.WELCOME;
+        try {
+            while (screen != Screen.QUIT) {
+                screen = show(session, screen);
+            }
+        } catch (SessionEndedException e) {
+            // The player's input ended.
+        }
+        session.close();
+    }
+
+    static Screen show(Session session, Screen screen) {
+        // Shows one screen and returns the screen to show after it.
+        switch (screen) {
+            case GAME:
+                return beginGame(session);
+            case ROUNDS:
+                return roundsScreen(session);
+            case LEADERBOARD:
+                return leaderboardScreen(session);
+            case STATISTICS:
+                return statisticsScreen(session);
+            case ACKNOWLEDGEMENTS:
+                return acknowledgementsScreen(session);
+            default:
+                return welcomeScreen(session);
         }
+    }
+
+    private static Screen beginGame(Session session) {
+        session.clearScreen();
+        int totalScore = playAllRounds(session);
 
         // Save final score to leaderboard.
         int rank = getRank(totalScore);
-        System.out.println("Congrats on completing the Wordle game show!\n"
+        session.println("Congrats on completing the Wordle game show!\n"
                 + "Your final score is " + totalScore + " which gives you a ranking of #" + rank + "!");
-        System.out.println();
-        System.out.println("Enter your name to save your score to the leaderboard: ");
-        String name = in.nextLine();
+        session.println();
+        session.println("Enter your name to save your score to the leaderboard: ");
+        String name = session.nextLine();
         while (true) {
             if (name.contains(separator + "")) {
-                System.out.println("Invalid character '" + separator + "' in name. Try again.");
+                session.println("Invalid character '" + separator + "' in name. Try again.");
             } else if (name.length() == 0) {
-                System.out.println("Invalid name. Try again.");
+                session.println("Invalid name. Try again.");
             } else {
                 break;
             }
-            name = in.nextLine();
+            name = session.nextLine();
+        }
+        saveScore(session, name, totalScore);
+        session.println();
+        session.println("Thank you for playing, " + name + "! Press enter to return to the main menu.");
+        session.nextLine();
+
+        return Screen.WELCOME;
+    }
+
+    static int playAllRounds(Session session) {
+        // Plays all the rounds in order and returns the total score.
+        int totalScore = 0;
+        int numRounds = ROUNDS.length;
+        // Loop through and play all the rounds. Only display rules on the first round.
+        WordleRound round1 = ROUNDS[0];
+        round1.begin(session, 1, false);
+        totalScore = round1.play(session, totalScore, true);
+        for (int i = 2; i < numRounds + 1; i++) {
+            WordleRound currentRound = ROUNDS[i - 1];
+            currentRound.begin(session, i, true);
+            totalScore = currentRound.play(session, totalScore, true);
         }
-        saveScore(name, totalScore);
-        System.out.println();
-        System.out.println("Thank you for playing, " + name + "! Press enter to return to the main menu.");
-        in.nextLine();
+        return totalScore;
+    }
 
-        welcomeScreen(in);
+    static int roundNumber(WordleRound round) {
+        // Returns the number of a round on the rounds screen, or 0 if it is not there.
+        for (int i = 0; i < ROUNDS.length; i++) {
+            if (ROUNDS[i] == round)
+                return i + 1;
+        }
+        for (int i = 0; i < PRACTICE_ROUNDS.length; i++) {
+            if (PRACTICE_ROUNDS[i] == round)
+                return ROUNDS.length + i + 1;
+        }
+        return 0;
     }
 
     private static int getRank(int score) {
         // Returns the rank of the player based on their score compared with other
         // players on the leaderboard.
-        ArrayList<LeaderboardEntry> leaderboardData = getLeaderboardData();
-        for (int i = 0; i < leaderboardData.size(); i++) {
-            if (score >= leaderboardData.get(i).getScore()) {
-                return i + 1;
-            }
-        }
-        // If the code makes it here, the player's score is lower than all the scores on
-        // the leaderboard.
-        return leaderboardData.size() + 1;
+        leaderboard.refresh();
+        return leaderboard.getRank(score);
     }
 
-    private static void playSpecificRound(Scanner in, int roundIndex) {
+    private static void playSpecificRound(Session session, int roundIndex) {
         // Plays a specific round of the game show and display rules.
-        WordleRound round = ROUNDS[roundIndex - 1];
-        round.begin(in, roundIndex, false);
-        round.play(in, 0, false);
-        welcomeScreen(in);
+        WordleRound round = roundIndex <= ROUNDS.length ? ROUNDS[roundIndex - 1]
+                : PRACTICE_ROUNDS[roundIndex - ROUNDS.length - 1];
+        round.begin(session, roundIndex, false);
+        round.play(session, 0, false);
     }
 
-    private static void saveScore(String name, int score) {
+    private static void saveScore(Session session, String name, int score) {
         // Appends the player's name and score to the leaderboard file.
-        try {
-            FileWriter fw = new FileWriter("leaderboard.txt", true);
-            BufferedWriter bw = new BufferedWriter(fw);
-            PrintWriter out = new PrintWriter(bw);
-            out.println(name + separator + score);
-            out.close();
-        } catch (IOException e) {
-            System.out.println();
-            System.out.println(Utils.RED + "Error saving score to leaderboard." + Utils.RESET);
-            System.out.println();
+        if (!leaderboardWriter.save(name, score)) {
+            session.println();
+            session.println(Utils.RED + "Error saving score to leaderboard." + Utils.RESET);
+            session.println();
         }
     }
 
-    private static void welcomeScreen(Scanner in) {
+    private static Screen welcomeScreen(Session session) {
         // The main menu
-        Utils.clearScreen();
-        System.out.println("********************************************************");
-        System.out.println("WELCOME TO THE WORLD'S FIRST WORDLE GAME SHOW!");
-        System.out.println("********************************************************");
-        System.out.println();
-        System.out.println();
-        System.out.println();
-        System.out.println();
-        System.out.println("S - Start :)");
-        System.out.println("Q - Quit :(");
-        System.out.println("C - Choose specific round");
-        System.out.println("L - View leaderboard");
-        System.out.println("A - Acknowledgements");
-        System.out.println();
+        session.clearScreen();
+        session.println("********************************************************");
+        session.println("WELCOME TO THE WORLD'S FIRST WORDLE GAME SHOW!");
+        session.println("********************************************************");
+        session.println();
+        session.println();
+        session.println();
+        session.println();
+        session.println("S - Start :)");
+        session.println("Q - Quit :(");
+        session.println("C - Choose specific round");
+        session.println("L - View leaderboard");
+        session.println("T - Statistics");
+        session.println("A - Acknowledgements");
+        session.println("H - Hard mode: " + (session.isHardMode() ? "ON" : "OFF"));
+        session.println();
 
         while (true) {
-            String input = in.nextLine();
+            String input = session.nextLine();
             if (input.toUpperCase().equals("S")) {
-                beginGame(in);
+                return Screen.GAME;
             } else if (input.toUpperCase().equals("Q")) {
-                System.out.println("Bye bye!");
-                in.close();
-                System.exit(0);
+                session.println("Bye bye!");
+                return Screen.QUIT;
             } else if (input.toUpperCase().equals("C")) {
-                roundsScreen(in);
+                return Screen.ROUNDS;
             } else if (input.toUpperCase().equals("L")) {
-                leaderboardScreen(in);
+                return Screen.LEADERBOARD;
+            } else if (input.toUpperCase().equals("T")) {
+                return Screen.STATISTICS;
             } else if (input.toUpperCase().equals("A")) {
-                acknowledgementsScreen(in);
+                return Screen.ACKNOWLEDGEMENTS;
+            } else if (input.toUpperCase().equals("H")) {
+                // Turn hard mode on or off for the rest of the session.
+                session.setHardMode(!session.isHardMode());
+                return Screen.WELCOME;
             } else {
-                System.out.println("Invalid input. Please try again.");
+                session.println("Invalid input. Please try again.");
             }
         }
     }
 
-    private static void acknowledgementsScreen(Scanner in) {
+    private static Screen acknowledgementsScreen(Session session) {
         // Displays the acknowledgements screen.
         final int pause = 500; // How long to pause between lines when printed
-        Utils.clearScreen();
-        Utils.prettyPrint("Wordle Game Show was designed and built by Laura Gao.");
-        Utils.sleep(pause);
-        System.out.println();
-        Utils.prettyPrint("I would like to thank the following people for playtesting and for their valuable feedback: ", false);
-        Utils.sleep(pause);
+        session.clearScreen();
+        session.prettyPrint("Wordle Game Show was designed and built by Laura Gao.");
+        session.sleep(pause);
+        session.println();
+        session.prettyPrint("I would like to thank the following people for playtesting and for their valuable feedback: ", false);
+        session.sleep(pause);
         String names[] = { "Emma", "Colleen", "Ahmed", "Quan", "Susie", "Emily", "Gloria", "Rain", "my sister Angela", "my mom" };
         for (int i = 0; i < names.length - 1; i++) {
-            Utils.prettyPrint(names[i] + ", ", false);
-            Utils.sleep(250);
+            session.prettyPrint(names[i] + ", ", false);
+            session.sleep(250);
         }
-        Utils.prettyPrint("and " + names[names.length - 1] + ".", false);
-        Utils.sleep(pause);
-        System.out.println();
-        System.out.println();
-        System.out.println("Enter 'R' to return to the main menu.");
-        System.out.println();
-        String input = in.nextLine();
+        session.prettyPrint("and " + names[names.length - 1] + ".", false);
+        session.sleep(pause);
+        session.println();
+        session.println();
+        session.println("Enter 'R' to return to the main menu.");
+        session.println();
+        String input = session.nextLine();
         while (true) {
             if (input.toUpperCase().equals("R")) {
-                welcomeScreen(in);
+                return Screen.WELCOME;
             } else {
-                System.out.println("Invalid input. Please try again.");
-                input = in.nextLine();
+                session.println("Invalid input. Please try again.");
+                input = session.nextLine();
             }
         }
     }
 
-    private static ArrayList<LeaderboardEntry> getLeaderboardData() {
-        ArrayList<LeaderboardEntry> leaderboardEntries = new ArrayList<LeaderboardEntry>();
-        try {
-            // Read the leaderboard file
-            BufferedReader br = new BufferedReader(
-                    new FileReader("./leaderboard.txt"));
-
-            String s;
-            while ((s = br.readLine()) != null) {
-                final String name = s.split(separator + "")[0];
-                final int score;
-                try {
-                    String scoreStr = s.split(separator + "")[1];
-                    score = Integer.parseInt(scoreStr);
-                } catch (NumberFormatException e) {
-                    // This is not a valid score, so we skip this line of the file.
-                    continue;
+    private static Screen leaderboardScreen(Session session) {
+        // Only one page of the leaderboard is shown at a time, starting with the top
+        // players. Each page is read from the file when it is shown, and only the start
+        // of each earlier page is kept, to go back to.
+        ArrayList<LeaderboardPage.Cursor> pageStarts = new ArrayList<LeaderboardPage.Cursor>();
+        pageStarts.add(LeaderboardPage.Cursor.TOP);
+        while (true) {
+            int page = pageStarts.size() - 1;
+            LeaderboardPage leaderboardPage = LeaderboardPage.read(LEADERBOARD_FILE, separator, LEADERBOARD_PAGE_SIZE,
+                    pageStarts.get(page));
+            int numEntries = leaderboardPage.getNumPlayers();
+            int numPages = Math.max(1, (numEntries + LEADERBOARD_PAGE_SIZE - 1) / LEADERBOARD_PAGE_SIZE);
+            ArrayList<LeaderboardEntry> leaderboardEntries = leaderboardPage.getEntries();
+
+            // Print out the leaderboard
+            session.clearScreen();
+            session.println("LEADERBOARD");
+            session.println();
+            if (leaderboardEntries.size() == 0) {
+                session.println("No one has beat the game yet. Do you want to be the first? ;)");
+            } else {
+                int firstRank = leaderboardPage.getFirstRank();
+                int longestRankLength = leaderboardPage.getRankWidth();
+                int longestNameLength = leaderboardPage.getNameWidth();
+                int longestScoreLength = leaderboardPage.getScoreWidth();
+
+                // Create string used to format the table, which dictates the spacing between
+                // columns. The "Score" column is right aligned while the others are left
+                // aligned. The columns are separated by a gap of 5 spaces.
+                // This method for printing tables is from https://stackoverflow.com/a/18672745
+                final int gap = 5; // Number of spaces between table columns
+                String formatString = "%-" + (gap + longestRankLength) + "s%-" + (gap + longestNameLength) + "s%"
+                        + longestScoreLength + "s%n";
+
+                // Print the column headers
+                session.format(formatString, new Object[] { "RANK", "NAME", "SCORE" });
+
+                // Create a horizontal line whose width is exactly the width of the table.
+                final int tableWidth = longestRankLength + longestNameLength + longestScoreLength + 2 * gap;
+                final String border = "*".repeat(tableWidth);
+                session.println(border);
+
+                // Print the table row-by-row
+                for (int i = 0; i < leaderboardEntries.size(); i++) {
+                    LeaderboardEntry entry = leaderboardEntries.get(i);
+                    session.format(formatString, firstRank + i, entry.getName(), entry.getScore());
+                }
+                session.println();
+                session.println(border);
+                session.println("Page " + (page + 1) + " of " + numPages + " (" + numEntries + " players)");
+            }
+            session.println();
+            session.println();
+            if (leaderboardPage.hasNext())
+                session.println("Enter 'N' to see the next page.");
+            if (page > 0)
+                session.println("Enter 'P' to see the previous page.");
+            session.println("Enter 'R' to return to the main menu.");
+            session.println();
+            String input = session.nextLine();
+            while (true) {
+                if (input.toUpperCase().equals("R")) {
+                    return Screen.WELCOME;
+                } else if (input.toUpperCase().equals("N") && leaderboardPage.hasNext()) {
+                    pageStarts.add(leaderboardPage.getEnd());
+                    break;
+                } else if (input.toUpperCase().equals("P") && page > 0) {
+                    pageStarts.remove(page);
+                    break;
+                } else {
+                    session.println("Invalid input. Please try again.");
+                    input = session.nextLine();
                 }
-                leaderboardEntries.add(new LeaderboardEntry(name, score));
             }
-            br.close();
-        } catch (IOException ex) {
-            // If the file doesn't exist, then there are no entries on the leaderboard,
-            // and we will return an empty ArrayList.
         }
-        // Sort the leaderboard entries according to score
-        leaderboardEntries.sort((player1, player2) -> player2.getScore() - player1.getScore());
-
-        return leaderboardEntries;
     }
 
-    private static void leaderboardScreen(Scanner in) {
-        ArrayList<LeaderboardEntry> leaderboardEntries = getLeaderboardData();
-
-        // Print out the leaderboard
-        Utils.clearScreen();
-        System.out.println("LEADERBOARD");
-        System.out.println();
-        if (leaderboardEntries.size() == 0) {
-            System.out.println("No one has beat the game yet. Do you want to be the first? ;)");
+    private static Screen statisticsScreen(Session session) {
+        // Displays the totals of every round played to the end on this computer.
+        GameHistory.Summary summary = history.getSummary();
+        session.clearScreen();
+        session.println("STATISTICS");
+        session.println();
+        if (summary.getPlayed() == 0) {
+            session.println("No rounds have been played yet.");
         } else {
-            // Format the leaderboard entries into a table
-            Object[][] leaderboardTable = new Object[leaderboardEntries.size()][];
-            int longestNameLength = 4; // number of characters in the longest name in the "name" column (including the
-                                       // heading "name" which has 4 letters)
-            for (int i = 0; i < leaderboardEntries.size(); i++) {
-                int rank = i + 1;
-                String name = leaderboardEntries.get(i).getName();
-                if (name.length() > longestNameLength)
-                    longestNameLength = name.length();
-                int score = leaderboardEntries.get(i).getScore();
-                leaderboardTable[i] = new Object[] { rank, name, score };
+            session.println("Rounds played: " + summary.getPlayed() + "    Won: "
+                    + Math.round(100.0 * summary.getWon() / summary.getPlayed()) + "%    Current streak: "
+                    + summary.getCurrentStreak() + "    Best streak: " + summary.getBestStreak());
+            session.println();
+
+            // Print a row for each round that has been played, numbered as on the rounds
+            // screen.
+            final String formatString = "%-4s%-34s%8s%8s%14s%n";
+            session.format(formatString, "#", "ROUND", "PLAYED", "WON", "AVG GUESSES");
+            final String border = "*".repeat(68);
+            session.println(border);
+            for (int number = 1; number <= ROUNDS.length + PRACTICE_ROUNDS.length; number++) {
+                long played = summary.getPlayed(number);
+                if (played == 0)
+                    continue;
+                WordleRound round = number <= ROUNDS.length ? ROUNDS[number - 1]
+                        : PRACTICE_ROUNDS[number - ROUNDS.length - 1];
+                long won = summary.getWon(number);
+                session.format(formatString, number, round.getName(), played, Math.round(100.0 * won / played) + "%",
+                        won == 0 ? "-" : String.format("%.2f", summary.getAverageGuesses(number)));
             }
-            // number of characters in the largest score
-            int longestScoreLength = Utils.getNumDigits(leaderboardEntries.get(0).getScore());
-            // The heading "score" has 5 letters
-            if (longestScoreLength < 5)
-                longestScoreLength = 5;
-
-            int longestRankLength = Utils.getNumDigits(leaderboardEntries.size() + 1);
-            // The heading "rank" has 5 letters
-            if (longestRankLength < 4)
-                longestRankLength = 4;
-
-            // Create string used to format the table, which dictates the spacing between
-            // columns. The "Score" column is right aligned while the others are left
-            // aligned. The columns are separated by a gap of 5 spaces.
-            // This method for printing tables is from https://stackoverflow.com/a/18672745
-            final int gap = 5; // Number of spaces between table columns
-            String formatString = "%-" + (gap + longestRankLength) + "s%-" + (gap + longestNameLength) + "s%"
-                    + longestScoreLength + "s%n";
-
-            // Print the column headers
-            System.out.format(formatString, new Object[] { "RANK", "NAME", "SCORE" });
-
-            // Create a horizontal line whose width is exactly the width of the table.
-            final int tableWidth = longestRankLength + longestNameLength + longestScoreLength + 2 * gap;
-            final String border = "*".repeat(tableWidth);
-            System.out.println(border);
-
-            // Print the table row-by-row
-            for (Object[] row : leaderboardTable) {
-                System.out.format(formatString, row);
+            session.println(border);
+            session.println();
+
+            // Print how many rounds were won in each number of guesses as a bar chart.
+            int maxGuesses = 0;
+            long mostWins = 0;
+            for (int n = 1; n <= GameHistory.Summary.MAX_GUESSES; n++) {
+                if (summary.getWins(n) > 0)
+                    maxGuesses = n;
+                mostWins = Math.max(mostWins, summary.getWins(n));
+            }
+            if (maxGuesses > 0) {
+                session.println("GUESS DISTRIBUTION");
+                final int barWidth = 50; // Width of the longest bar
+                for (int n = 1; n <= maxGuesses; n++) {
+                    long wins = summary.getWins(n);
+                    int length = (int) ((wins * barWidth + mostWins - 1) / mostWins);
+                    session.format("%2d %s %d%n", n, "#".repeat(length), wins);
+                }
             }
-            System.out.println();
-            System.out.println(border);
         }
-        System.out.println();
-        System.out.println();
-        System.out.println("Enter 'R' to return to the main menu.");
-        System.out.println();
-        String input = in.nextLine();
+        session.println();
+        session.println("Enter 'R' to return to the main menu.");
+        session.println();
+        String input = session.nextLine();
         while (true) {
             if (input.toUpperCase().equals("R")) {
-                welcomeScreen(in);
+                return Screen.WELCOME;
             } else {
-                System.out.println("Invalid input. Please try again.");
-                input = in.nextLine();
+                session.println("Invalid input. Please try again.");
+                input = session.nextLine();
             }
         }
     }
 
-    private static void roundsScreen(Scanner in) {
+    private static Screen roundsScreen(Session session) {
         // Displays the rounds screen and allowers player to choose a round to play.
-        Utils.clearScreen();
-        final String rounds = "12345";
-        System.out.println("ROUNDS:");
-        System.out.println("1 - Classic 5-letter Wordle");
-        System.out.println("2 - 4-letter Wordle");
-        System.out.println("3 - 6-letter Wordle");
-        System.out.println("4 - Double Wordle");
-        System.out.println("5 - Special edition: Wordle with Java keywords");
-        System.out.println();
-
-        System.out.println(
+        session.clearScreen();
+        session.println("ROUNDS:");
+        session.println("1 - Classic 5-letter Wordle");
+        session.println("2 - 4-letter Wordle");
+        session.println("3 - 6-letter Wordle");
+        session.println("4 - Double Wordle");
+        session.println("5 - Special edition: Wordle with Java keywords");
+        session.println("6 - Absurdle: the answer dodges your guesses");
+        session.println();
+        session.println("PRACTICE ROUNDS:");
+        session.println("7 - Quordle: 4 words at once");
+        session.println("8 - Octordle: 8 words at once");
+        session.println("9 - Sedecordle: 16 words at once");
+        session.println("10 - Duotrigordle: 32 words at once");
+        session.println();
+
+        session.println(
                 "By playing a specific level, you will not be able to accrue a total score and will not be competing for a position on the leaderboard.");
-        System.out.println(
+        session.println(
                 "Select this option if you would like to try out a specific level or practice a specific round to improve.");
-        System.out.println();
-        Utils.sleep(1000);
-        Utils.prettyPrint("Enter the number of the round you want to jump to.");
-        Utils.sleep(500);
-        System.out.println("Or, enter 'R' to return to the main menu.");
-        System.out.println();
-        String round = in.nextLine();
+        session.println();
+        session.sleep(1000);
+        session.prettyPrint("Enter the number of the round you want to jump to.");
+        session.sleep(500);
+        session.println("Or, enter 'R' to return to the main menu.");
+        session.println();
+        String round = session.nextLine();
         while (true) {
-            if (round.length() == 1 && rounds.indexOf(round) > -1) {
-                playSpecificRound(in, Integer.parseInt(round));
+            int roundIndex;
+            try {
+                roundIndex = Integer.parseInt(round.trim());
+            } catch (NumberFormatException e) {
+                roundIndex = 0;
+            }
+            if (roundIndex >= 1 && roundIndex <= ROUNDS.length + PRACTICE_ROUNDS.length) {
+                playSpecificRound(session, roundIndex);
+                return Screen.WELCOME;
             } else if (round.toUpperCase().equals("R")) {
-                welcomeScreen(in);
+                return Screen.WELCOME;
             } else {
-                System.out.println("Invalid input. Please try again.");
-                round = in.nextLine();
+                session.println("Invalid input. Please try again.");
+                round = session.nextLine();
             }
         }
     }
@@ -0,0 +1,70 @@
+public class GameShowSoakTest {
+    // Moves between the menu screens a million times, as a kiosk left running for a
+    // long time would, and checks that neither the stack nor the heap grows.
+    // Every screen other than the main menu is left with 'R', so the script always
+    // ends at the main menu.
+    private static final String[] SCRIPT = { "C", "R", "A", "R", "L", "R", "X" };
+    // Just over a million, and a whole number of scripts.
+    private static final int TRANSITIONS = SCRIPT.length * 142858;
+
+    public static void main(String[] args) throws Exception {
+        ScriptedSession session = new ScriptedSession();
+        long start = System.nanoTime();
+        GameShow.play(session);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(session.lines == TRANSITIONS + 1);
+        System.out.println(session.closed);
+        // The stack is as deep at the end as after the first few screens.
+        System.out.println(session.lateStackDepth == session.earlyStackDepth);
+        // The heap used after the last screens is within a few megabytes of the heap
+        // used after the first ones.
+        System.out.println(session.lateMemory - session.earlyMemory < 4 * 1024 * 1024);
+        System.out.format("%d transitions in %.2f s, stack depth %d, heap %d KB then %d KB%n", TRANSITIONS, seconds,
+                session.lateStackDepth, session.earlyMemory / 1024, session.lateMemory / 1024);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class ScriptedSession extends Session {
+        // Session without output that answers every prompt from the script, and quits
+        // after the last transition.
+        int lines = 0;
+        int earlyStackDepth;
+        int lateStackDepth;
+        long earlyMemory;
+        long lateMemory;
+        boolean closed = false;
+
+        ScriptedSession() {
+            super(null, null);
+        }
+
+        @Override
+        public String nextLine() {
+            lines++;
+            if (lines == SCRIPT.length * 10) {
+                earlyStackDepth = Thread.currentThread().getStackTrace().length;
+                earlyMemory = usedMemory();
+            } else if (lines == TRANSITIONS) {
+                lateStackDepth = Thread.currentThread().getStackTrace().length;
+                lateMemory = usedMemory();
+            }
+            if (lines > TRANSITIONS)
+                return "Q";
+            return SCRIPT[(lines - 1) % SCRIPT.length];
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// This is a class for the rules of hard mode: every guess must keep each green
+// letter revealed so far in its place, and must contain every revealed orange
+// (and green) letter at least as many times as it has been revealed. The clues
+// are added up as guesses are made, so checking a guess never looks back at the
+// earlier guesses.
+// The greens are kept as a mask and the letters they require, packed 5 bits per
+// letter like `PackedWord`, so they are checked with one AND and one
+// comparison. The minimum count of each letter is kept in a 4-bit field per
+// letter across two longs, and all of them are compared with a guess's letter
+// counts at once (SWAR: SIMD within a register).
+
+public class GuessConstraints {
+    // The high bit of every 4-bit field. Counts are capped at 7 so that this bit is
+    // always free to catch a borrow when subtracting.
+    private static final long HIGH_BITS = 0x8888888888888888L;
+    private static final int MAX_COUNT = 7;
+
+    // Positions of the greens (5 bits each), and the letters they require.
+    private long greenMask = 0;
+    private long greenLetters = 0;
+    // Minimum count of each letter: letters 0-15 (by `letter & 31`) in `minCountsLow`
+    // and letters 16-31 in `minCountsHigh`.
+    private long minCountsLow = 0;
+    private long minCountsHigh = 0;
+    // The same minimum counts, unpacked, for updating and for describing them.
+    private final int[] minCounts = new int[32];
+
+    public void add(String guess, int pattern) {
+        // Adds the clues from the colours of a guess.
+        int[] revealed = new int[32];
+        for (int i = 0; i < guess.length() && i < Dictionary.MAX_WORD_LENGTH; i++) {
+            int letter = guess.charAt(i) & 31;
+            int color = Feedback.colorAt(pattern, i);
+            if (color == Feedback.GREEN) {
+                greenMask |= 31L << (5 * i);
+                greenLetters |= (long) letter << (5 * i);
+            }
+            if (color != Feedback.WHITE)
+                revealed[letter]++;
+        }
+        for (int letter = 0; letter < 32; letter++) {
+            if (revealed[letter] > minCounts[letter])
+                minCounts[letter] = Math.min(revealed[letter], MAX_COUNT);
+        }
+        minCountsLow = packCounts(minCounts, 0);
+        minCountsHigh = packCounts(minCounts, 16);
+    }
+
+    public boolean allows(String guess) {
+        // Returns whether a guess follows every clue so far.
+        long packed = PackedWord.pack(guess);
+        if (packed == -1)
+            return greenMask == 0 && minCountsLow == 0 && minCountsHigh == 0;
+        int[] counts = new int[32];
+        for (int i = 0; i < guess.length(); i++) {
+            int letter = guess.charAt(i) & 31;
+            if (counts[letter] < MAX_COUNT)
+                counts[letter]++;
+        }
+        return allows(packed, packCounts(counts, 0), packCounts(counts, 16));
+    }
+
+    public boolean allows(long packedGuess, long countsLow, long countsHigh) {
+        // Returns whether a guess, packed by `PackedWord.pack` and with its letter
+        // counts packed by `packCounts`, follows every clue so far. Each 4-bit field of
+        // (counts with the high bits set) - (minimum counts) keeps its high bit only if
+        // the count is at least the minimum.
+        return (packedGuess & greenMask) == greenLetters
+                && (((countsLow | HIGH_BITS) - minCountsLow) & HIGH_BITS) == HIGH_BITS
+                && (((countsHigh | HIGH_BITS) - minCountsHigh) & HIGH_BITS) == HIGH_BITS;
+    }
+
+    public static long packCounts(int[] counts, int firstLetter) {
+        // Packs the counts of 16 letters starting from `firstLetter` into a long, 4
+        // bits each.
+        long packed = 0;
+        for (int i = 0; i < 16; i++) {
+            packed |= (long) Math.min(counts[firstLetter + i], MAX_COUNT) << (4 * i);
+        }
+        return packed;
+    }
+
+    public String describeBrokenClue(String guess) {
+        // Returns which clue a guess does not follow, to tell the player.
+        for (int i = 0; i < Dictionary.MAX_WORD_LENGTH; i++) {
+            int letter = (int) (greenLetters >>> (5 * i)) & 31;
+            if (letter != 0 && (i >= guess.length() || (guess.charAt(i) & 31) != letter))
+                return "Letter " + (i + 1) + " must be " + (char) ('A' - 1 + letter) + ".";
+        }
+        for (int letter = 1; letter <= 26; letter++) {
+            int count = 0;
+            for (int i = 0; i < guess.length(); i++) {
+                if ((guess.charAt(i) & 31) == letter)
+                    count++;
+            }
+            if (count < minCounts[letter])
+                return "The guess must contain " + (minCounts[letter] == 1 ? "" : minCounts[letter] + " copies of ")
+                        + (char) ('A' - 1 + letter) + ".";
+        }
+        return "The guess must use every clue so far.";
+    }
+}
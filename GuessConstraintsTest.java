@@ -0,0 +1,28 @@
+public class GuessConstraintsTest {
+    public static void main(String[] args) {
+        // A is green, and C, R and E are orange
+        GuessConstraints constraints = new GuessConstraints();
+        constraints.add("CRANE", Feedback.score("CRANE", "REACT"));
+        System.out.println(constraints.allows("TRACE"));
+        System.out.println(constraints.allows("REACT"));
+        System.out.println(!constraints.allows("SLOTH"));
+        // Has every letter, but the A is not in place
+        System.out.println(!constraints.allows("CREAK"));
+        System.out.println(constraints.describeBrokenClue("CREAK").equals("Letter 3 must be A."));
+
+        // Two E's have been revealed, so a guess with one E is not allowed
+        constraints = new GuessConstraints();
+        constraints.add("EERIE", Feedback.score("EERIE", "THEME"));
+        System.out.println(constraints.allows("THEME"));
+        System.out.println(!constraints.allows("THOSE"));
+        System.out.println(constraints.describeBrokenClue("THOSE").equals("The guess must contain 2 copies of E."));
+
+        // Clues add up over several guesses
+        constraints.add("THOSE", Feedback.score("THOSE", "THEME"));
+        System.out.println(!constraints.allows("THEE"));
+        System.out.println(constraints.allows("THEME"));
+
+        // With no clues yet, any guess is allowed
+        System.out.println(new GuessConstraints().allows("ABSTRACT"));
+    }
+}
@@ -0,0 +1,247 @@
+// This is a class that keeps the leaderboard file in memory, ordered by score,
+// so that a rank or a page of the leaderboard can be looked up without reading
+// and sorting the whole file again. The file is only ever appended to, so each
+// refresh only reads the lines that were added since the last one.
+// The entries are kept in a treap (a binary search tree balanced by random
+// priorities) where every node knows the size of its subtree, so finding the
+// rank of a score, or the entry at a given rank, takes O(log n) time.
+// Lines whose checksum does not match (see `LeaderboardWriter`) are skipped.
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+public class Leaderboard {
+    private final String fileName;
+    private final char separator;
+    // How many bytes of the file have been read into the tree.
+    private long bytesLoaded = 0;
+    // Every entry gets a number in the order it was read, so that equal scores stay
+    // in the order they were saved.
+    private long numLoaded = 0;
+    // Number of lines that could not be read, eg. because they were torn by a crash.
+    private long skipped = 0;
+    private Node root = null;
+    private final Random random = new Random();
+
+    private static class Node {
+        final String name;
+        final int score;
+        final long number;
+        final int priority;
+        int size = 1;
+        Node left; // entries ranked higher
+        Node right; // entries ranked lower
+
+        Node(String name, int score, long number, int priority) {
+            this.name = name;
+            this.score = score;
+            this.number = number;
+            this.priority = priority;
+        }
+    }
+
+    public Leaderboard(String fileName, char separator) {
+        this.fileName = fileName;
+        this.separator = separator;
+    }
+
+    public synchronized void refresh() {
+        // Reads any lines that were added to the file since the last refresh. A line
+        // that has not been completely written yet is left for the next refresh.
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "r")) {
+            if (file.length() < bytesLoaded) {
+                // The file was replaced with a shorter one, so start again.
+                root = null;
+                bytesLoaded = 0;
+                numLoaded = 0;
+                skipped = 0;
+            }
+            if (file.length() == bytesLoaded)
+                return;
+            bytesLoaded = readLines(file, bytesLoaded, (line, offset) -> addLine(line));
+        } catch (IOException e) {
+            // If the file doesn't exist, then there are no new entries on the leaderboard.
+        }
+    }
+
+    interface LineHandler {
+        void line(String line, long offset);
+    }
+
+    static long readLines(RandomAccessFile file, long from, LineHandler handler) throws IOException {
+        // Passes each complete line of the file from position `from` on to `handler`,
+        // with the position where the line starts, and returns the position after the
+        // last complete line.
+        file.seek(from);
+        byte[] buffer = new byte[1 << 16];
+        int length = 0;
+        int read;
+        while ((read = file.read(buffer, length, buffer.length - length)) > 0) {
+            length += read;
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    int lineEnd = i > lineStart && buffer[i - 1] == '\r' ? i - 1 : i;
+                    handler.line(new String(buffer, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8),
+                            from + lineStart);
+                    lineStart = i + 1;
+                }
+            }
+            from += lineStart;
+            // Move the unfinished line to the start of the buffer, growing the buffer if
+            // the line does not fit.
+            System.arraycopy(buffer, lineStart, buffer, 0, length - lineStart);
+            length -= lineStart;
+            if (length == buffer.length) {
+                byte[] bigger = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, bigger, 0, length);
+                buffer = bigger;
+            }
+        }
+        return from;
+    }
+
+    public static String formatRecord(String name, int score, char separator) {
+        // Returns the line that saves a score. It starts with the separator, which
+        // cannot start a name, followed by a checksum of the rest of the line, so that
+        // a line that was only partly written can be recognized.
+        String entry = name + separator + score;
+        return separator + checksum(entry) + separator + entry;
+    }
+
+    private static String checksum(String entry) {
+        CRC32 crc = new CRC32();
+        crc.update(entry.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+
+    private void addLine(String line) {
+        LeaderboardEntry entry = parseLine(line, separator);
+        if (entry == null)
+            skipped++;
+        else
+            add(entry.getName(), entry.getScore());
+    }
+
+    static LeaderboardEntry parseLine(String line, char separator) {
+        // Returns the name and score saved on a line of the file, or null if the line
+        // cannot be read.
+        int start = 0;
+        if (line.length() > 0 && line.charAt(0) == separator) {
+            // A line saved with a checksum. Skip it unless the checksum matches.
+            int checksumEnd = line.indexOf(separator, 1);
+            if (checksumEnd == -1
+                    || !line.substring(1, checksumEnd).equals(checksum(line.substring(checksumEnd + 1))))
+                return null;
+            start = checksumEnd + 1;
+        }
+        // Otherwise this is a line saved by an older version, without a checksum.
+        int nameEnd = line.indexOf(separator, start);
+        if (nameEnd == -1)
+            return null;
+        int scoreEnd = line.indexOf(separator, nameEnd + 1);
+        if (scoreEnd == -1)
+            scoreEnd = line.length();
+        try {
+            return new LeaderboardEntry(line.substring(start, nameEnd),
+                    Integer.parseInt(line, nameEnd + 1, scoreEnd, 10));
+        } catch (NumberFormatException e) {
+            // This is not a valid score, so we skip this line of the file.
+            return null;
+        }
+    }
+
+    private void add(String name, int score) {
+        root = insert(root, new Node(name, score, numLoaded++, random.nextInt()));
+    }
+
+    private static Node insert(Node node, Node entry) {
+        // Inserts an entry below `node` and returns the new root of that subtree.
+        if (node == null)
+            return entry;
+        node.size++;
+        if (entry.score > node.score || (entry.score == node.score && entry.number < node.number)) {
+            node.left = insert(node.left, entry);
+            if (node.left.priority > node.priority)
+                return rotateRight(node);
+        } else {
+            node.right = insert(node.right, entry);
+            if (node.right.priority > node.priority)
+                return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node top = node.left;
+        node.left = top.right;
+        top.right = node;
+        top.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+        return top;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node top = node.right;
+        node.right = top.left;
+        top.left = node;
+        top.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+        return top;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    public synchronized long getSkipped() {
+        return skipped;
+    }
+
+    public synchronized int getRank(int score) {
+        // Returns the rank a player with this score would have: one more than the
+        // number of entries with a higher score.
+        int higher = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score) {
+                higher += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return higher + 1;
+    }
+
+    public synchronized ArrayList<LeaderboardEntry> getEntries(int start, int count) {
+        // Returns up to `count` entries in rank order, starting from the entry at index
+        // `start` (the entry ranked #1 is at index 0). The leaderboard screen reads its
+        // pages from the file with `LeaderboardPage`; this is for the tests and
+        // benchmarks that check those pages against the tree.
+        ArrayList<LeaderboardEntry> entries = new ArrayList<LeaderboardEntry>(Math.max(0, Math.min(count, 1024)));
+        collect(root, start, count, entries);
+        return entries;
+    }
+
+    private static void collect(Node node, int start, int count, ArrayList<LeaderboardEntry> entries) {
+        // Adds the entries of this subtree from index `start` on, skipping the subtrees
+        // that are entirely before `start`, until `count` entries have been added.
+        if (node == null || entries.size() >= count)
+            return;
+        int leftSize = size(node.left);
+        if (start < leftSize)
+            collect(node.left, start, count, entries);
+        if (start <= leftSize && entries.size() < count)
+            entries.add(new LeaderboardEntry(node.name, node.score));
+        collect(node.right, Math.max(0, start - leftSize - 1), count, entries);
+    }
+}
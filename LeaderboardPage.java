@@ -0,0 +1,149 @@
+// This is a class for one page of the leaderboard screen, read straight from the
+// leaderboard file. The file is read in one pass that keeps only the best
+// entries seen so far in a min-heap the size of a page, so showing a page of a
+// leaderboard with millions of scores takes memory for one page, not for the
+// whole file. Each page remembers where it ends (the score and the position in
+// the file of its last entry), and the next page is read on demand as the best
+// entries ranked after that one.
+// Entries are ranked like in `Leaderboard`: by score, then in the order they
+// were saved, which is their position in the file.
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+public class LeaderboardPage {
+    // The column headings are at least this wide.
+    private static final int MIN_RANK_WIDTH = "RANK".length();
+    private static final int MIN_NAME_WIDTH = "NAME".length();
+    private static final int MIN_SCORE_WIDTH = "SCORE".length();
+
+    private final ArrayList<LeaderboardEntry> entries = new ArrayList<LeaderboardEntry>();
+    private final int firstRank;
+    private final int numPlayers;
+    private final Cursor end;
+    private int rankWidth = MIN_RANK_WIDTH;
+    private int nameWidth = MIN_NAME_WIDTH;
+    private int scoreWidth = MIN_SCORE_WIDTH;
+
+    public static class Cursor {
+        // A place in the ranking: just after the entry with this score at this
+        // position in the file. `TOP` is before every entry.
+        public static final Cursor TOP = new Cursor(Integer.MAX_VALUE, -1);
+
+        final int score;
+        final long offset;
+
+        Cursor(int score, long offset) {
+            this.score = score;
+            this.offset = offset;
+        }
+
+        boolean isBefore(int score, long offset) {
+            // Returns whether the entry at `offset` is ranked after this place.
+            return score < this.score || (score == this.score && offset > this.offset);
+        }
+    }
+
+    private static class Row {
+        final LeaderboardEntry entry;
+        final long offset;
+
+        Row(LeaderboardEntry entry, long offset) {
+            this.entry = entry;
+            this.offset = offset;
+        }
+
+        boolean isRankedBelow(Row other) {
+            return entry.getScore() < other.entry.getScore()
+                    || (entry.getScore() == other.entry.getScore() && offset > other.offset);
+        }
+    }
+
+    public static LeaderboardPage read(String fileName, char separator, int pageSize, Cursor start) {
+        // Returns the `pageSize` best entries ranked after `start`, reading the whole
+        // file once. A missing file is an empty leaderboard.
+        // The heap has the lowest ranked of the entries kept so far at its head, so
+        // that a better entry can replace it once the page is full.
+        PriorityQueue<Row> best = new PriorityQueue<Row>(pageSize + 1,
+                (a, b) -> a.isRankedBelow(b) ? -1 : b.isRankedBelow(a) ? 1 : 0);
+        int[] counts = new int[2]; // number of players, and of players ranked before `start`
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "r")) {
+            Leaderboard.readLines(file, 0, (line, offset) -> {
+                LeaderboardEntry entry = Leaderboard.parseLine(line, separator);
+                if (entry == null)
+                    return;
+                counts[0]++;
+                if (!start.isBefore(entry.getScore(), offset)) {
+                    counts[1]++;
+                    return;
+                }
+                Row row = new Row(entry, offset);
+                if (best.size() < pageSize) {
+                    best.add(row);
+                } else if (pageSize > 0 && best.peek().isRankedBelow(row)) {
+                    best.poll();
+                    best.add(row);
+                }
+            });
+        } catch (IOException e) {
+            // If the file doesn't exist, then no one is on the leaderboard yet.
+        }
+        // Take the entries off the heap from the lowest ranked up.
+        Row[] rows = new Row[best.size()];
+        for (int i = rows.length - 1; i >= 0; i--) {
+            rows[i] = best.poll();
+        }
+        return new LeaderboardPage(rows, counts[1] + 1, counts[0],
+                rows.length > 0 ? new Cursor(rows[rows.length - 1].entry.getScore(), rows[rows.length - 1].offset)
+                        : start);
+    }
+
+    private LeaderboardPage(Row[] rows, int firstRank, int numPlayers, Cursor end) {
+        this.firstRank = firstRank;
+        this.numPlayers = numPlayers;
+        this.end = end;
+        // The columns are as wide as the widest value on this page.
+        for (Row row : rows) {
+            entries.add(row.entry);
+            nameWidth = Math.max(nameWidth, row.entry.getName().length());
+            scoreWidth = Math.max(scoreWidth, Utils.getNumDigits(row.entry.getScore()));
+        }
+        rankWidth = Math.max(rankWidth, Utils.getNumDigits(firstRank + rows.length - 1));
+    }
+
+    public ArrayList<LeaderboardEntry> getEntries() {
+        return entries;
+    }
+
+    public int getFirstRank() {
+        return firstRank;
+    }
+
+    public int getNumPlayers() {
+        // Number of players on the whole leaderboard.
+        return numPlayers;
+    }
+
+    public boolean hasNext() {
+        return firstRank - 1 + entries.size() < numPlayers;
+    }
+
+    public Cursor getEnd() {
+        // Where the next page starts.
+        return end;
+    }
+
+    public int getRankWidth() {
+        return rankWidth;
+    }
+
+    public int getNameWidth() {
+        return nameWidth;
+    }
+
+    public int getScoreWidth() {
+        return scoreWidth;
+    }
+}
@@ -0,0 +1,59 @@
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Random;
+
+public class LeaderboardPageTest {
+    public static void main(String[] args) throws Exception {
+        // Paging through the file should show the same entries in the same order as
+        // the in-memory `Leaderboard`, including equal scores, old lines without a
+        // checksum and torn lines.
+        File file = File.createTempFile("leaderboard", ".txt");
+        file.deleteOnExit();
+        Random random = new Random(42);
+        PrintWriter out = new PrintWriter(file, "UTF-8");
+        for (int i = 0; i < 1000; i++) {
+            String name = "player" + random.nextInt(100000);
+            int score = random.nextInt(50) * 100;
+            out.print((i % 10 == 0 ? name + "/" + score : Leaderboard.formatRecord(name, score, '/')) + "\n");
+        }
+        out.print("/00000000/torn/100\n");
+        out.close();
+        Leaderboard leaderboard = new Leaderboard(file.getPath(), '/');
+        leaderboard.refresh();
+
+        boolean same = true;
+        boolean ranks = true;
+        int numPages = 0;
+        LeaderboardPage.Cursor start = LeaderboardPage.Cursor.TOP;
+        while (true) {
+            LeaderboardPage page = LeaderboardPage.read(file.getPath(), '/', 30, start);
+            ArrayList<LeaderboardEntry> expected = leaderboard.getEntries(numPages * 30, 30);
+            ranks &= page.getFirstRank() == numPages * 30 + 1 && page.getNumPlayers() == 1000;
+            same &= page.getEntries().size() == expected.size();
+            for (int i = 0; i < expected.size() && same; i++) {
+                same &= page.getEntries().get(i).getName().equals(expected.get(i).getName())
+                        && page.getEntries().get(i).getScore() == expected.get(i).getScore();
+            }
+            numPages++;
+            if (!page.hasNext())
+                break;
+            start = page.getEnd();
+        }
+        System.out.println(same);
+        System.out.println(ranks);
+        System.out.println(numPages == 34);
+
+        // The columns fit the widest value on the page.
+        LeaderboardPage top = LeaderboardPage.read(file.getPath(), '/', 30, LeaderboardPage.Cursor.TOP);
+        int nameWidth = 4;
+        for (LeaderboardEntry entry : top.getEntries()) {
+            nameWidth = Math.max(nameWidth, entry.getName().length());
+        }
+        System.out.println(top.getNameWidth() == nameWidth && top.getScoreWidth() == 5 && top.getRankWidth() == 4);
+
+        // A missing file is an empty leaderboard.
+        LeaderboardPage empty = LeaderboardPage.read("./no_such_leaderboard.txt", '/', 30, LeaderboardPage.Cursor.TOP);
+        System.out.println(empty.getEntries().isEmpty() && empty.getNumPlayers() == 0 && !empty.hasNext());
+    }
+}
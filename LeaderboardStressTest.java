@@ -0,0 +1,102 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
+public class LeaderboardStressTest {
+    // Several processes, each with several games, save scores to one leaderboard
+    // file at the same time. Every score should be read back exactly once.
+    private static final int PROCESSES = 4;
+    private static final int THREADS = 8;
+    private static final int SAVES_PER_THREAD = 250;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("child")) {
+            saveScores(args[1], Integer.parseInt(System.getProperty("process")));
+            return;
+        }
+        File file = File.createTempFile("leaderboard", ".txt");
+        file.deleteOnExit();
+        String fileName = file.getPath();
+        // Start with an older line without a checksum, then a line that was torn by a
+        // crash in the middle of writing it.
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("old/123\n".getBytes(StandardCharsets.UTF_8));
+        String torn = Leaderboard.formatRecord("torn", 99999, '/');
+        out.write(torn.substring(0, torn.length() - 2).getBytes(StandardCharsets.UTF_8));
+        out.close();
+
+        long start = System.nanoTime();
+        ArrayList<Process> processes = new ArrayList<Process>();
+        for (int p = 0; p < PROCESSES; p++) {
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            processes.add(new ProcessBuilder(java, "-Dprocess=" + p, "-cp", System.getProperty("java.class.path"),
+                    "LeaderboardStressTest", "child", fileName).inheritIO().start());
+        }
+        boolean exitedCleanly = true;
+        for (Process process : processes) {
+            exitedCleanly &= process.waitFor() == 0;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int totalSaves = PROCESSES * THREADS * SAVES_PER_THREAD;
+
+        Leaderboard leaderboard = new Leaderboard(fileName, '/');
+        leaderboard.refresh();
+        HashMap<String, Integer> scores = new HashMap<String, Integer>();
+        boolean noDuplicates = true;
+        for (LeaderboardEntry entry : leaderboard.getEntries(0, leaderboard.size())) {
+            noDuplicates &= scores.put(entry.getName(), entry.getScore()) == null;
+        }
+        boolean allSaved = true;
+        for (int p = 0; p < PROCESSES; p++) {
+            for (int t = 0; t < THREADS; t++) {
+                for (int i = 0; i < SAVES_PER_THREAD; i++) {
+                    Integer score = scores.get(name(p, t, i));
+                    allSaved &= score != null && score == score(p, t, i);
+                }
+            }
+        }
+        System.out.println(exitedCleanly);
+        System.out.println(noDuplicates);
+        System.out.println(allSaved);
+        // The older line is kept and the torn line is skipped.
+        System.out.println(scores.get("old") == 123);
+        System.out.println(!scores.containsKey("torn") && leaderboard.getSkipped() == 1);
+        System.out.println(leaderboard.size() == totalSaves + 1);
+        System.out.format("%d saves from %d processes in %.2f s (%.0f saves/sec)%n", totalSaves, PROCESSES, seconds,
+                totalSaves / seconds);
+    }
+
+    private static void saveScores(String fileName, int process) throws Exception {
+        // Each thread saves its scores one after the other, as a game would, so that
+        // the writer has to batch saves from different threads together.
+        LeaderboardWriter writer = new LeaderboardWriter(fileName, '/');
+        ArrayList<CompletableFuture<Boolean>> threads = new ArrayList<CompletableFuture<Boolean>>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads.add(CompletableFuture.supplyAsync(() -> {
+                boolean saved = true;
+                for (int i = 0; i < SAVES_PER_THREAD; i++) {
+                    saved &= writer.save(name(process, thread, i), score(process, thread, i));
+                }
+                return saved;
+            }, runnable -> new Thread(runnable).start()));
+        }
+        for (CompletableFuture<Boolean> thread : threads) {
+            if (!thread.get())
+                System.exit(1);
+        }
+        System.out.println("Process " + process + ": " + writer.getSaves() + " saves in " + writer.getBatches()
+                + " batches");
+    }
+
+    private static String name(int process, int thread, int i) {
+        return "p" + process + "t" + thread + "n" + i;
+    }
+
+    private static int score(int process, int thread, int i) {
+        return (process * THREADS + thread) * SAVES_PER_THREAD + i;
+    }
+}
@@ -0,0 +1,132 @@
+// This is a class that saves scores to the leaderboard file safely when several
+// games, in this process or in other processes, save at the same time. Saves are
+// queued and written by a single background thread, which writes every save that
+// is waiting as one batch while holding a lock on the file, then forces the batch
+// to disk before telling the games that their scores were saved.
+// Each score is written as one line framed by `Leaderboard.formatRecord` with a
+// checksum, so that a line that was only partly written when a game crashed is
+// skipped when the leaderboard is read.
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class LeaderboardWriter {
+    private final String fileName;
+    private final char separator;
+    private final LinkedBlockingQueue<PendingSave> queue = new LinkedBlockingQueue<PendingSave>();
+    private Thread thread = null;
+
+    // Counters of how many scores were saved in how many batches.
+    private volatile long saves = 0;
+    private volatile long batches = 0;
+
+    private static class PendingSave {
+        final byte[] record;
+        final CompletableFuture<Boolean> saved = new CompletableFuture<Boolean>();
+
+        PendingSave(byte[] record) {
+            this.record = record;
+        }
+    }
+
+    public LeaderboardWriter(String fileName, char separator) {
+        this.fileName = fileName;
+        this.separator = separator;
+    }
+
+    public boolean save(String name, int score) {
+        // Saves a score and waits until it is on disk. Returns false if it could not
+        // be saved.
+        return saveLater(name, score).join();
+    }
+
+    public CompletableFuture<Boolean> saveLater(String name, int score) {
+        // Queues a score to be saved and returns straight away.
+        String record = Leaderboard.formatRecord(name, score, separator) + "\n";
+        PendingSave save = new PendingSave(record.getBytes(StandardCharsets.UTF_8));
+        synchronized (this) {
+            if (thread == null) {
+                thread = new Thread(this::run, "leaderboard-writer");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+        queue.add(save);
+        return save.saved;
+    }
+
+    private void run() {
+        ArrayList<PendingSave> batch = new ArrayList<PendingSave>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            // Everything that was queued while the last batch was being written goes in
+            // this batch.
+            queue.drainTo(batch);
+            boolean saved = write(batch);
+            if (saved) {
+                saves += batch.size();
+                batches++;
+            }
+            for (PendingSave save : batch) {
+                save.saved.complete(saved);
+            }
+            batch.clear();
+        }
+    }
+
+    // The lock is only held, never read, until the try statement releases it.
+    @SuppressWarnings("try")
+    private boolean write(ArrayList<PendingSave> batch) {
+        // Appends a batch of records to the file with a single write while holding an
+        // exclusive lock on it, so that other processes cannot write in between.
+        int length = 1;
+        for (PendingSave save : batch) {
+            length += save.record.length;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            long end = channel.size();
+            if (end > 0) {
+                // If a game crashed in the middle of writing a line, end that line so the
+                // first record of this batch is not joined to it.
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, end - 1);
+                if (last.get(0) != '\n')
+                    bytes.put((byte) '\n');
+            }
+            for (PendingSave save : batch) {
+                bytes.put(save.record);
+            }
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                end += channel.write(bytes, end);
+            }
+            channel.force(false);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public long getSaves() {
+        return saves;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+}
@@ -0,0 +1,282 @@
+// This program precomputes the best first guess of each round, and the best
+// second guess for each colour pattern the first guess can get, so that hints
+// and bots can answer the first two moves without asking `Solver` to check
+// every guess against every answer. Run it with `java OpeningBook` to build
+// `openingbook.bin`. Each entry is keyed by a checksum of the words in its two
+// lists, so an entry is only used with the exact lists it was built from. The
+// entry of a round is checked the first time a hint or bot asks for a guess in
+// that round. When a list has changed (or there is no book yet), the game
+// rebuilds that entry on a background thread and keeps asking `Solver` until it
+// is ready.
+//
+// Layout of the book (numbers are big-endian):
+//   int magic number, int number of entries
+//   for each entry:
+//     answers file name, guesses file name (as written by `DataOutputStream.writeUTF`)
+//     long checksum of the words in both lists
+//     first guess, int number of second guesses
+//     for each second guess: int pattern, int number of answers that give the
+//     first guess that pattern, second guess
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.zip.CRC32;
+
+public class OpeningBook {
+    public static final String FILE_NAME = "./openingbook.bin";
+    private static final int MAGIC = 0x4F424B31; // "OBK1"
+    // The lists of each round, as { answers, guesses }.
+    private static final String[][] LISTS = {
+            { "./wordlist_5_answers.txt", "./wordlist_5_all.txt" },
+            { "./wordlist_4_answers.txt", "./wordlist_4_all.txt" },
+            { "./wordlist_6_answers.txt", "./wordlist_6_all.txt" },
+            { "./wordlist_java_keywords.txt", "./wordlist_java_keywords.txt" } };
+
+    // Entries by the checksum of their lists.
+    private static final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<Long, Entry>();
+    private static final ConcurrentHashMap<Dictionary, Integer> checksums = new ConcurrentHashMap<Dictionary, Integer>();
+
+    public static void main(String[] args) throws IOException {
+        ArrayList<Entry> built = new ArrayList<Entry>();
+        for (String[] lists : LISTS) {
+            long start = System.nanoTime();
+            built.add(build(lists[0], lists[1]));
+            System.out.format("Built the openings for %s in %.1f s.%n", lists[0], (System.nanoTime() - start) / 1e9);
+        }
+        write(built, FILE_NAME);
+        System.out.println("Wrote " + built.size() + " openings to " + FILE_NAME + ".");
+    }
+
+    public static String lookup(Dictionary guesses, Dictionary answers, int[] candidates) {
+        // Returns the best guess for `candidates` if it is one of the first two moves
+        // in the book, and otherwise null.
+        if (!Book.enabled)
+            return null;
+        long checksum = checksum(guesses, answers);
+        Entry entry = entries.get(checksum);
+        if (entry == null) {
+            Book.check(guesses, answers, checksum);
+            entry = entries.get(checksum);
+        }
+        return entry == null ? null : entry.lookup(answers, candidates);
+    }
+
+    static Entry build(String answersFile, String guessesFile) {
+        return build(answersFile, guessesFile, ForkJoinPool.commonPool());
+    }
+
+    static Entry build(String answersFile, String guessesFile, ForkJoinPool pool) {
+        // Works out the entry for the lists, checking the guesses on `pool`.
+        Dictionary answers = WordLists.get(answersFile);
+        Dictionary guesses = WordLists.get(guessesFile);
+        int[] all = Solver.allCandidates(answers);
+        String first = Solver.bestGuess(guesses, answers, all, false, pool);
+        // Split the answers by the pattern the first guess gets, then find the best
+        // guess for each group.
+        HashMap<Integer, ArrayList<Integer>> groups = new HashMap<Integer, ArrayList<Integer>>();
+        int[] counts = Feedback.newScratch();
+        long packedFirst = PackedWord.pack(first);
+        for (int candidate : all) {
+            int pattern = Feedback.score(packedFirst, answers.getPacked(candidate), counts);
+            groups.computeIfAbsent(pattern, p -> new ArrayList<Integer>()).add(candidate);
+        }
+        Entry entry = new Entry(answersFile, guessesFile, checksum(guesses, answers), first);
+        for (int pattern : groups.keySet()) {
+            int[] group = groups.get(pattern).stream().mapToInt(Integer::intValue).toArray();
+            entry.secondGuesses.put(pattern, new SecondGuess(group.length, Solver.bestGuess(guesses, answers, group, false, pool)));
+        }
+        return entry;
+    }
+
+    static void write(ArrayList<Entry> book, String fileName) throws IOException {
+        // Writes to a temporary file first, so that the game never reads half a book.
+        File temp = new File(fileName + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(book.size());
+            for (Entry entry : book) {
+                out.writeUTF(entry.answersFile);
+                out.writeUTF(entry.guessesFile);
+                out.writeLong(entry.checksum);
+                out.writeUTF(entry.firstGuess);
+                out.writeInt(entry.secondGuesses.size());
+                for (int pattern : entry.secondGuesses.keySet()) {
+                    SecondGuess second = entry.secondGuesses.get(pattern);
+                    out.writeInt(pattern);
+                    out.writeInt(second.numCandidates);
+                    out.writeUTF(second.guess);
+                }
+            }
+        }
+        Files.move(temp.toPath(), Paths.get(fileName), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static ArrayList<Entry> read(String fileName) throws IOException {
+        ArrayList<Entry> book = new ArrayList<Entry>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            if (in.readInt() != MAGIC)
+                return book;
+            int numEntries = in.readInt();
+            for (int i = 0; i < numEntries; i++) {
+                Entry entry = new Entry(in.readUTF(), in.readUTF(), in.readLong(), in.readUTF());
+                int numSecondGuesses = in.readInt();
+                for (int j = 0; j < numSecondGuesses; j++) {
+                    int pattern = in.readInt();
+                    int numCandidates = in.readInt();
+                    entry.secondGuesses.put(pattern, new SecondGuess(numCandidates, in.readUTF()));
+                }
+                book.add(entry);
+            }
+        }
+        return book;
+    }
+
+    static long checksum(Dictionary guesses, Dictionary answers) {
+        return ((long) checksum(guesses) << 32) | (checksum(answers) & 0xFFFFFFFFL);
+    }
+
+    private static int checksum(Dictionary dictionary) {
+        // Dictionaries are shared and never change, so each is only checksummed once.
+        return checksums.computeIfAbsent(dictionary, d -> {
+            CRC32 crc = new CRC32();
+            for (long word : d.getPackedWords()) {
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    crc.update((int) (word >>> shift));
+                }
+            }
+            return (int) crc.getValue();
+        });
+    }
+
+    static class Entry {
+        final String answersFile;
+        final String guessesFile;
+        final long checksum;
+        final String firstGuess;
+        // The best second guess and the size of its group, by the pattern of the first
+        // guess.
+        final HashMap<Integer, SecondGuess> secondGuesses = new HashMap<Integer, SecondGuess>();
+
+        Entry(String answersFile, String guessesFile, long checksum, String firstGuess) {
+            this.answersFile = answersFile;
+            this.guessesFile = guessesFile;
+            this.checksum = checksum;
+            this.firstGuess = firstGuess;
+        }
+
+        String lookup(Dictionary answers, int[] candidates) {
+            // Before the first guess every answer is a candidate.
+            if (candidates.length == answers.size())
+                return firstGuess;
+            // After the first guess, the candidates must be exactly the answers that give
+            // it the same pattern. The sizes are compared first, so that later moves are
+            // turned away after scoring a single answer.
+            int[] counts = Feedback.newScratch();
+            long packedFirst = PackedWord.pack(firstGuess);
+            int pattern = Feedback.score(packedFirst, answers.getPacked(candidates[0]), counts);
+            SecondGuess second = secondGuesses.get(pattern);
+            if (second == null || second.numCandidates != candidates.length)
+                return null;
+            for (int candidate : candidates) {
+                if (Feedback.score(packedFirst, answers.getPacked(candidate), counts) != pattern)
+                    return null;
+            }
+            return second.guess;
+        }
+    }
+
+    static class SecondGuess {
+        final int numCandidates;
+        final String guess;
+
+        SecondGuess(int numCandidates, String guess) {
+            this.numCandidates = numCandidates;
+            this.guess = guess;
+        }
+    }
+
+    private static class Book {
+        // The book is read the first time a hint or bot asks for a guess. The entry of
+        // a round is checked against its lists the first time it is asked for, and
+        // rebuilt in the background if it is missing or was built from different
+        // lists. The book can be turned off with `-Dwordle.openingbook=false`.
+        static final boolean enabled = !"false".equals(System.getProperty("wordle.openingbook"));
+        // Rebuilds one entry at a time on a single low priority thread that does not
+        // keep the game running. `Solver` checks the guesses of a rebuild on this pool
+        // too, so a rebuild never takes the cores that hints and bots use.
+        static final ForkJoinPool rebuilder = new ForkJoinPool(1, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("opening-book");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, false);
+        // The entry of each round, in the order of `LISTS`, for rewriting the book.
+        // Entries read from the file are kept until their round is checked.
+        static final Entry[] current = new Entry[LISTS.length];
+        // The checksums of the lists that have been checked.
+        static final Set<Long> checked = ConcurrentHashMap.newKeySet();
+
+        static {
+            if (enabled) {
+                try {
+                    for (Entry entry : read(FILE_NAME)) {
+                        for (int i = 0; i < LISTS.length; i++) {
+                            if (entry.answersFile.equals(LISTS[i][0]) && entry.guessesFile.equals(LISTS[i][1]))
+                                current[i] = entry;
+                        }
+                    }
+                } catch (IOException e) {
+                    // A missing or damaged book is rebuilt one entry at a time.
+                }
+            }
+        }
+
+        static void check(Dictionary guesses, Dictionary answers, long checksum) {
+            // Uses the book's entry for the lists if it was built from them, and
+            // otherwise starts rebuilding it. Lists that are not a round's are ignored.
+            if (!checked.add(checksum))
+                return;
+            for (int i = 0; i < LISTS.length; i++) {
+                if (WordLists.getLoaded(LISTS[i][0]) != answers || WordLists.getLoaded(LISTS[i][1]) != guesses)
+                    continue;
+                synchronized (current) {
+                    if (current[i] != null && current[i].checksum == checksum) {
+                        entries.put(checksum, current[i]);
+                    } else {
+                        int index = i;
+                        rebuilder.execute(() -> rebuild(index));
+                    }
+                }
+                return;
+            }
+        }
+
+        private static void rebuild(int index) {
+            Entry entry = build(LISTS[index][0], LISTS[index][1], rebuilder);
+            entries.put(entry.checksum, entry);
+            synchronized (current) {
+                current[index] = entry;
+                ArrayList<Entry> book = new ArrayList<Entry>();
+                for (Entry roundEntry : current) {
+                    if (roundEntry != null)
+                        book.add(roundEntry);
+                }
+                try {
+                    write(book, FILE_NAME);
+                } catch (IOException e) {
+                    // The entry is still used until the game exits, and rebuilt next time.
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class OpeningBookTest {
+    public static void main(String[] args) throws Exception {
+        // The book should give exactly the guesses `Solver` works out for the first two
+        // moves, and nothing for later moves.
+        Dictionary answers = WordLists.get("./wordlist_4_answers.txt");
+        Dictionary guesses = WordLists.get("./wordlist_4_all.txt");
+        OpeningBook.Entry entry = OpeningBook.build("./wordlist_4_answers.txt", "./wordlist_4_all.txt");
+        int[] all = Solver.allCandidates(answers);
+        System.out.println(entry.lookup(answers, all).equals(Solver.bestGuess(guesses, answers, all, false)));
+
+        Random random = new Random(42);
+        boolean sameSecond = true;
+        boolean noThird = true;
+        for (int game = 0; game < 50; game++) {
+            String answer = answers.get(random.nextInt(answers.size()));
+            int[] second = Solver.filter(answers, all, entry.firstGuess, Feedback.score(entry.firstGuess, answer));
+            if (second.length > 2)
+                sameSecond &= entry.lookup(answers, second).equals(Solver.bestGuess(guesses, answers, second, false));
+            String guess = guesses.get(random.nextInt(guesses.size()));
+            int[] third = Solver.filter(answers, second, guess, Feedback.score(guess, answer));
+            if (third.length < second.length)
+                noThird &= entry.lookup(answers, third) == null;
+        }
+        System.out.println(sameSecond);
+        System.out.println(noThird);
+
+        // The book survives being written and read back.
+        File file = File.createTempFile("openingbook", ".bin");
+        file.deleteOnExit();
+        ArrayList<OpeningBook.Entry> book = new ArrayList<OpeningBook.Entry>(Arrays.asList(entry));
+        OpeningBook.write(book, file.getPath());
+        OpeningBook.Entry read = OpeningBook.read(file.getPath()).get(0);
+        System.out.println(read.checksum == entry.checksum && read.firstGuess.equals(entry.firstGuess)
+                && read.secondGuesses.size() == entry.secondGuesses.size());
+
+        // Lists with different words have a different checksum, so they never use the
+        // entry.
+        Dictionary fewerAnswers = new Dictionary(Arrays.asList("ABLE", "ACHE", "ACID"));
+        System.out.println(OpeningBook.checksum(guesses, fewerAnswers) != entry.checksum);
+    }
+}
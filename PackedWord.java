@@ -0,0 +1,48 @@
+// This is a class for words packed into a single long, 5 bits per letter with
+// the first letter in the lowest bits ('A' is 1 and 'Z' is 26, so 0 marks the
+// end of the word). Words of up to 12 letters fit. Word lists are held as
+// arrays of packed words instead of a String per word, two packed words are
+// equal exactly when the words are, and the letters of a packed word are read
+// with a shift and a mask. Strings are only made from packed words to be shown.
+
+public class PackedWord {
+    // The longest word that fits in a long at 5 bits per letter.
+    public static final int MAX_LENGTH = 12;
+
+    public static long pack(String word) {
+        // Packs an uppercase word. Returns -1 if the word is empty, too long or contains
+        // anything other than the letters A-Z.
+        int length = word.length();
+        if (length == 0 || length > MAX_LENGTH)
+            return -1;
+        long packed = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            char letter = word.charAt(i);
+            if (letter < 'A' || letter > 'Z')
+                return -1;
+            packed = (packed << 5) | (letter & 31);
+        }
+        return packed;
+    }
+
+    public static String toString(long packed) {
+        // Reverses `pack`.
+        char[] letters = new char[MAX_LENGTH];
+        int length = 0;
+        while (packed != 0) {
+            letters[length++] = (char) ('A' - 1 + (packed & 31));
+            packed >>>= 5;
+        }
+        return new String(letters, 0, length);
+    }
+
+    public static int length(long packed) {
+        // Every letter is non-zero, so the length is where the highest set bit is.
+        return (64 - Long.numberOfLeadingZeros(packed) + 4) / 5;
+    }
+
+    public static int letterAt(long packed, int index) {
+        // Returns the letter at `index` as `letter & 31` (1 to 26).
+        return (int) (packed >>> (5 * index)) & 31;
+    }
+}
@@ -0,0 +1,121 @@
+// This is a class for reading the player's input one key at a time instead of
+// one line at a time, so that a guess can be checked and redrawn while it is
+// being typed. The terminal is switched out of line mode with `stty`, which only
+// exists on Unix-like systems, and is switched back when the game ends. Anywhere
+// else, or when the input is not a terminal, the game reads whole lines as usual.
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class RawInput {
+    private static final char ESCAPE = '\033';
+    private static final char CTRL_D = 4;
+    private static final char BACKSPACE = '\b';
+    private static final char DELETE = 127;
+
+    private final Reader in;
+    // The size of the terminal in characters when the game started.
+    private final int columns;
+    private final int rows;
+
+    RawInput(Reader in, int columns, int rows) {
+        // Reads keys from `in` without touching the terminal, which `Benchmarks` uses.
+        this.in = in;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    public static RawInput start() {
+        // Switches the terminal to reading single keys and returns a reader for them,
+        // or returns null if that is not possible. Turned off with `-Dwordle.raw=false`.
+        if (System.console() == null || Terminal.IS_WINDOWS || !Terminal.SUPPORTS_ANSI
+                || "false".equals(System.getProperty("wordle.raw")))
+            return null;
+        String savedSettings = stty("-g");
+        if (savedSettings == null || stty("-icanon -echo min 1") == null)
+            return null;
+        // Give the terminal its settings back however the game ends.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> stty(savedSettings)));
+        // `stty size` prints the number of rows, then of columns. A terminal that
+        // does not know its size is assumed to be the usual 80 by 24.
+        String[] size = String.valueOf(stty("size")).split(" ");
+        int rows = 24;
+        int columns = 80;
+        if (size.length == 2 && size[0].matches("[1-9][0-9]*") && size[1].matches("[1-9][0-9]*")) {
+            rows = Integer.parseInt(size[0]);
+            columns = Integer.parseInt(size[1]);
+        }
+        return new RawInput(new InputStreamReader(new FileInputStream(FileDescriptor.in), StandardCharsets.UTF_8),
+                columns, rows);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    private static String stty(String args) {
+        // Runs `stty` on the game's terminal and returns what it prints, or null if it
+        // failed.
+        try {
+            Process process = new ProcessBuilder("sh", "-c", "stty " + args + " < /dev/tty")
+                    .redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 ? output : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public String readLine(Predicate<String> accepts, Consumer<String> draw) throws IOException {
+        // Reads keys until Enter is pressed and returns the line typed. A typed
+        // character is only added if `accepts` allows the line with it, and `draw` is
+        // given the line after every change. Returns null if the input ends, or if
+        // Ctrl+D is pressed on an empty line.
+        StringBuilder line = new StringBuilder();
+        while (true) {
+            int c = in.read();
+            if (c == -1 || (c == CTRL_D && line.length() == 0))
+                return null;
+            if (c == '\r' || c == '\n')
+                return line.toString();
+            if (c == BACKSPACE || c == DELETE) {
+                if (line.length() == 0)
+                    continue;
+                line.setLength(line.length() - 1);
+            } else if (c == ESCAPE) {
+                // Arrow keys and other special keys send an escape sequence, which is
+                // ignored. They end with a letter or '~'.
+                skipEscapeSequence();
+                continue;
+            } else if (c >= ' ') {
+                line.append((char) c);
+                if (!accepts.test(line.toString())) {
+                    line.setLength(line.length() - 1);
+                    continue;
+                }
+            } else {
+                // Any other control key
+                continue;
+            }
+            draw.accept(line.toString());
+        }
+    }
+
+    private void skipEscapeSequence() throws IOException {
+        int c = in.read();
+        if (c != '[' && c != 'O')
+            return;
+        do {
+            c = in.read();
+        } while (c != -1 && !Character.isLetter(c) && c != '~');
+    }
+}
@@ -0,0 +1,156 @@
+// This is a class that collects everything printed to the screen into a frame
+// and writes the whole frame at once, instead of making a write for every
+// coloured letter. Colour codes that would not change the colour of the next
+// character are dropped. It counts how much it writes so that the saving can be
+// measured.
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+
+public class Renderer {
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    // The frame being built, and the bytes frames are encoded into. Both are reused.
+    private final StringBuilder frame = new StringBuilder(4096);
+    private ByteBuffer bytes = ByteBuffer.allocate(4096);
+
+    // The colour code the terminal is currently using, and a colour code that has
+    // been printed but not yet written because no character has used it yet.
+    private String currentStyle = null;
+    private String pendingStyle = null;
+
+    // Counters of what was asked to be printed and what was actually written.
+    private long prints = 0;
+    private long charsPrinted = 0;
+    private long writes = 0;
+    private long bytesWritten = 0;
+
+    public Renderer(OutputStream out) {
+        this.channel = Channels.newChannel(out);
+    }
+
+    public void print(String str) {
+        prints++;
+        charsPrinted += str.length();
+        int length = str.length();
+        int i = 0;
+        while (i < length) {
+            char c = str.charAt(i);
+            if (c == '\033' && i + 1 < length && str.charAt(i + 1) == '[') {
+                // Find the end of the escape sequence, which is its first letter.
+                int end = i + 2;
+                while (end < length && !Character.isLetter(str.charAt(end))) {
+                    end++;
+                }
+                if (end == length) {
+                    // Incomplete escape sequence, so pass it through unchanged.
+                    frame.append(str, i, length);
+                    return;
+                }
+                if (str.charAt(end) == 'm') {
+                    style(str, i, end + 1);
+                } else {
+                    // Other escape sequences (eg. moving the cursor) are written as they are.
+                    frame.append(str, i, end + 1);
+                }
+                i = end + 1;
+            } else {
+                if (pendingStyle != null) {
+                    if (!pendingStyle.equals(currentStyle))
+                        frame.append(pendingStyle);
+                    currentStyle = pendingStyle;
+                    pendingStyle = null;
+                }
+                frame.append(c);
+                i++;
+            }
+        }
+    }
+
+    private void style(String str, int start, int end) {
+        // Remembers a colour code until a character is printed with it.
+        String latest = pendingStyle != null ? pendingStyle : currentStyle;
+        if (latest != null && latest.length() == end - start && latest.regionMatches(0, str, start, end - start))
+            return;
+        String style = str.substring(start, end);
+        if (pendingStyle == null || style.startsWith("\033[0") || style.startsWith("\033[m")) {
+            // A code that starts with a reset replaces anything before it.
+            pendingStyle = style;
+        } else {
+            pendingStyle = pendingStyle + style;
+        }
+    }
+
+    public void flush() {
+        // Writes the frame straight away with a single write and starts a new frame.
+        write(takeFrame());
+    }
+
+    public String takeFrame() {
+        // Returns the frame that has been built so far, or null if it is empty, and
+        // starts a new frame. Used to hand frames to an `Animator`.
+        if (pendingStyle != null) {
+            if (!pendingStyle.equals(currentStyle))
+                frame.append(pendingStyle);
+            currentStyle = pendingStyle;
+            pendingStyle = null;
+        }
+        if (frame.length() == 0)
+            return null;
+        String text = frame.toString();
+        frame.setLength(0);
+        return text;
+    }
+
+    public synchronized void write(String text) {
+        // Writes a frame with a single write.
+        if (text == null)
+            return;
+        bytes.clear();
+        encoder.reset();
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (encoder.encode(chars, bytes, true).isOverflow()) {
+            ByteBuffer bigger = ByteBuffer.allocate(bytes.capacity() * 2);
+            bytes.flip();
+            bigger.put(bytes);
+            bytes = bigger;
+        }
+        bytes.flip();
+        try {
+            bytesWritten += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            writes++;
+        } catch (IOException e) {
+            // There is nowhere left to show the output, so drop it.
+        }
+    }
+
+    public long getPrints() {
+        return prints;
+    }
+
+    public long getCharsPrinted() {
+        return charsPrinted;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public String getStats() {
+        return "Output: " + prints + " prints (" + charsPrinted + " chars) became " + writes + " writes ("
+                + bytesWritten + " bytes).";
+    }
+}
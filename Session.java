@@ -0,0 +1,237 @@
+// This is a class for the input and output of one player's game. The screens
+// and rounds read and print through a session instead of using `System.in` and
+// `System.out` directly, so that the same game flow can be played in a terminal
+// or by a bot in a headless simulation.
+// Output is collected by a `Renderer` into frames, which end whenever the game
+// waits for input or pauses for an animation. Frames and pauses are played by
+// an `Animator` so that the game itself never sleeps.
+// In a terminal that can read single keys, input is read through `RawInput`
+// instead, and the line being typed is redrawn after every key.
+// A session without an output stream prints nothing and never pauses, for bots
+// and tests that only answer the prompts. Without a Scanner, the session ends at
+// the first prompt that `nextLine` or `nextGuess` is not overridden to answer.
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+public class Session {
+    private final Scanner in;
+    private final Renderer renderer;
+    private final Animator animator;
+    private RawInput rawInput = null;
+    private boolean alternateScreen = false;
+    // Whether every guess has to follow the clues of the guesses before it.
+    private boolean hardMode = false;
+    // Where the rounds played in this session are logged, if anywhere, and the
+    // round being played.
+    private GameHistory history = null;
+    private GameHistory.Record roundRecord = null;
+
+    public Session(Scanner in, OutputStream out) {
+        this.in = in;
+        this.renderer = out == null ? null : new Renderer(out);
+        this.animator = out == null ? null : new Animator(renderer);
+    }
+
+    public String nextLine() {
+        return readLine(line -> true, line -> line);
+    }
+
+    private String readLine(Predicate<String> accepts, Function<String, String> style) {
+        // Reads a line of input. With raw input, a character is only typed if
+        // `accepts` allows the line with it, and the line is drawn as `style` returns
+        // it. Only the line is redrawn, from where the cursor was when it started.
+        if (renderer != null) {
+            if (rawInput != null)
+                renderer.print(Terminal.SAVE_CURSOR);
+            animator.submit(renderer.takeFrame(), 0);
+        }
+        String line;
+        try {
+            if (rawInput == null) {
+                if (in == null)
+                    throw new SessionEndedException();
+                line = in.nextLine();
+            } else {
+                line = rawInput.readLine(accepts, typed -> {
+                    // Typing skips any animation that is still playing.
+                    animator.skip();
+                    renderer.print(Terminal.RESTORE_CURSOR + Terminal.CLEAR_TO_END_OF_LINE + style.apply(typed));
+                    animator.submit(renderer.takeFrame(), 0);
+                });
+                if (line == null)
+                    throw new SessionEndedException();
+                // The terminal does not echo Enter, so move to the next line here.
+                renderer.print(System.lineSeparator());
+            }
+        } catch (NoSuchElementException | IOException e) {
+            // The player closed the input, so there is no one left to play.
+            throw new SessionEndedException();
+        }
+        // Entering a line skips any animation that is still playing.
+        if (animator != null)
+            animator.skip();
+        return line;
+    }
+
+    public void useRawInput(RawInput rawInput) {
+        this.rawInput = rawInput;
+    }
+
+    public RawInput getRawInput() {
+        return rawInput;
+    }
+
+    public void print(String str) {
+        if (renderer != null)
+            renderer.print(str);
+    }
+
+    public void println(String str) {
+        print(str);
+        print(System.lineSeparator());
+    }
+
+    public void println() {
+        print(System.lineSeparator());
+    }
+
+    public void format(String format, Object... args) {
+        if (renderer != null)
+            renderer.print(String.format(format, args));
+    }
+
+    public void clearScreen() {
+        // The screen is cleared as part of the next frame, so the old screen is
+        // replaced by the new one in a single write.
+        print(Terminal.clearScreen());
+    }
+
+    public void useAlternateScreen() {
+        // Draws the game on the terminal's alternate screen, so that whatever was on
+        // the screen before comes back when the session is closed.
+        if (Terminal.SUPPORTS_ANSI && !alternateScreen && renderer != null) {
+            alternateScreen = true;
+            renderer.print(Terminal.ENTER_ALTERNATE_SCREEN);
+        }
+    }
+
+    public void sleep(long millis) {
+        // Ends the frame and pauses before the next one. The game carries on
+        // straight away while the animator waits out the pause.
+        if (animator != null)
+            animator.submit(renderer.takeFrame(), millis);
+    }
+
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    public void setHardMode(boolean hardMode) {
+        this.hardMode = hardMode;
+    }
+
+    public Renderer getRenderer() {
+        return renderer;
+    }
+
+    public void prettyPrint(String str, boolean lineBreak) {
+        // Prints the string one character at a time, like it is being typed.
+        if (renderer == null)
+            return;
+        for (int i = 0; i < str.length(); i++) {
+            print(String.valueOf(str.charAt(i)));
+            sleep(20);
+        }
+        if (lineBreak)
+            println();
+    }
+
+    public void prettyPrint(String str) {
+        // Overload variant such that this method adds a line break unless otherwise
+        // specified.
+        prettyPrint(str, true);
+    }
+
+    public void setHistory(GameHistory history) {
+        this.history = history;
+    }
+
+    // The following are called by the rounds so that a bot playing through this
+    // session knows what is happening. A person reads the screen instead, so by
+    // default they only log the round to the history, and guesses are read like any
+    // other line.
+    public void startRound(WordleRound round, Dictionary possibleAnswers, Dictionary allWords) {
+        if (history != null)
+            roundRecord = new GameHistory.Record(GameShow.roundNumber(round), round.getNumAnswers(),
+                    round.getNumGuesses(), hardMode, allWords);
+    }
+
+    public String nextGuess() {
+        return nextLine();
+    }
+
+    public String nextGuess(Dictionary words, int wordLength) {
+        // Reads a guess from `words` with `wordLength` letters, or any number of
+        // letters if it is 0. With raw input, the player cannot type more than
+        // `wordLength` letters, or more than the longest possible word if it is 0.
+        // From the first letter that cannot lead to a word, the letters are shown in
+        // red as soon as they are typed.
+        if (rawInput == null)
+            return nextGuess();
+        WordTrie trie = WordTrie.of(words);
+        int maxLength = wordLength > 0 ? wordLength : Dictionary.MAX_WORD_LENGTH;
+        return readLine(typed -> typed.length() <= maxLength, typed -> {
+            String upper = typed.toUpperCase();
+            // Commands are not words, so they are never marked.
+            if ("RQ".startsWith(upper) || upper.equals("?") || upper.equals("!"))
+                return typed;
+            int valid = trie.validPrefixLength(upper, wordLength);
+            if (valid == typed.length())
+                return typed;
+            return typed.substring(0, valid) + Utils.RED + typed.substring(valid) + Utils.RESET;
+        });
+    }
+
+    public void guessScored(int board, String guess, int pattern, boolean correct) {
+        // `board` is the index of the answer the guess was scored against, which is
+        // always 0 except in rounds with more than one answer. `correct` is whether the
+        // guess is that answer.
+        if (roundRecord != null)
+            roundRecord.guessScored(board, guess, pattern, correct);
+    }
+
+    public void roundFinished(int newPoints) {
+        if (roundRecord != null) {
+            roundRecord.finish(newPoints);
+            history.append(roundRecord);
+            roundRecord = null;
+        }
+    }
+
+    public void close() {
+        if (alternateScreen)
+            renderer.print(Terminal.LEAVE_ALTERNATE_SCREEN);
+        if (animator != null) {
+            animator.submit(renderer.takeFrame(), 0);
+            animator.awaitIdle();
+        }
+        if (in != null)
+            in.close();
+    }
+}
+
+class SessionEndedException extends RuntimeException {
+    // Thrown when the player's input ends, to leave whatever screen or round is
+    // being played at once. Only the session ends, not the program, since other
+    // sessions may still be playing.
+    private static final long serialVersionUID = 1L;
+
+    public SessionEndedException() {
+        super(null, null, false, false);
+    }
+}
@@ -0,0 +1,268 @@
+// This program plays the game show headlessly: bots play every round through the
+// same `begin` and `play` flow as a person would, but without any terminal
+// input or output and without pausing for animations. Games are played on all
+// cores and the guess counts and scores are reported so that the point formulas
+// can be tuned. Run it with `java GameShow --simulate <games> [candidate|solver]`.
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public class Simulation {
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        String playerName = args.length > 1 ? args[1] : "candidate";
+        Supplier<Player> players;
+        if (playerName.equals("solver")) {
+            players = SolverPlayer::new;
+        } else if (playerName.equals("candidate")) {
+            players = CandidatePlayer::new;
+        } else {
+            System.out.println("Unknown player '" + playerName + "'. Use 'candidate' or 'solver'.");
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        run(games, players, threads).print(System.out);
+    }
+
+    static SimulationStats run(int games, Supplier<Player> players, int threads) {
+        // Plays `games` full game shows split between `threads` threads, each game with
+        // a new player from `players`.
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ArrayList<Future<SimulationStats>> results = new ArrayList<Future<SimulationStats>>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int gamesForThread = games / threads + (t < games % threads ? 1 : 0);
+            results.add(executor.submit(() -> {
+                SimulationStats stats = new SimulationStats();
+                for (int i = 0; i < gamesForThread; i++) {
+                    HeadlessSession session = new HeadlessSession(players.get());
+                    int totalScore = GameShow.playAllRounds(session);
+                    stats.add(session, totalScore);
+                }
+                return stats;
+            }));
+        }
+        SimulationStats stats = new SimulationStats();
+        try {
+            for (Future<SimulationStats> result : results) {
+                stats.merge(result.get());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdown();
+        }
+        stats.nanos = System.nanoTime() - start;
+        stats.threads = threads;
+        return stats;
+    }
+}
+
+interface Player {
+    // A bot that plays the rounds of a `HeadlessSession`.
+
+    // Called at the start of each round.
+    void startRound(WordleRound round, Dictionary possibleAnswers, Dictionary allWords);
+
+    String nextGuess();
+
+    // Called with the colours of each guess for every board that was not solved yet.
+    void guessScored(int board, String guess, int pattern);
+}
+
+class CandidatePlayer implements Player {
+    // Player that keeps track of which answers are still possible on each board and
+    // guesses one of them, on the board with the fewest left.
+    private Dictionary possibleAnswers;
+    private Dictionary allWords;
+    private int[][] candidates;
+    private boolean[] solved;
+
+    @Override
+    public void startRound(WordleRound round, Dictionary possibleAnswers, Dictionary allWords) {
+        this.possibleAnswers = possibleAnswers;
+        this.allWords = allWords;
+        this.candidates = new int[round.getNumAnswers()][];
+        this.solved = new boolean[round.getNumAnswers()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = Solver.allCandidates(possibleAnswers);
+        }
+    }
+
+    @Override
+    public String nextGuess() {
+        int board = -1;
+        for (int i = 0; i < candidates.length; i++) {
+            if (!solved[i] && (board == -1 || candidates[i].length < candidates[board].length))
+                board = i;
+        }
+        if (board == -1 || candidates[board].length == 0)
+            return "RQ";
+        return choose(allWords, possibleAnswers, candidates[board]);
+    }
+
+    String choose(Dictionary allWords, Dictionary possibleAnswers, int[] candidates) {
+        return possibleAnswers.get(candidates[ThreadLocalRandom.current().nextInt(candidates.length)]);
+    }
+
+    @Override
+    public void guessScored(int board, String guess, int pattern) {
+        candidates[board] = Solver.filter(possibleAnswers, candidates[board], guess, pattern);
+        solved[board] = candidates[board].length == 1
+                && possibleAnswers.getPacked(candidates[board][0]) == PackedWord.pack(guess);
+    }
+}
+
+class SolverPlayer extends CandidatePlayer {
+    // Player that always takes the hint from `Solver`.
+    @Override
+    String choose(Dictionary allWords, Dictionary possibleAnswers, int[] candidates) {
+        return Solver.bestGuess(allWords, possibleAnswers, candidates);
+    }
+}
+
+class HeadlessSession extends Session {
+    // Session that is played by a `Player`. It has no output stream, so nothing is
+    // printed and pauses are skipped. Every prompt other than a guess is answered
+    // with 'S', which skips the rules and continues past "Press enter" prompts.
+
+    // A bot that has not found the answer after this many guesses rage quits.
+    static final int MAX_GUESSES = 50;
+
+    private final Player player;
+    // Number of guesses and points of each round, in the order they were played.
+    final int[] guesses = new int[GameShow.ROUNDS.length];
+    final int[] points = new int[GameShow.ROUNDS.length];
+    private int roundIndex = -1;
+
+    HeadlessSession(Player player) {
+        // There is no Scanner or output stream behind a headless session.
+        super(null, null);
+        this.player = player;
+    }
+
+    @Override
+    public String nextLine() {
+        return "S";
+    }
+
+    @Override
+    public void startRound(WordleRound round, Dictionary possibleAnswers, Dictionary allWords) {
+        roundIndex++;
+        player.startRound(round, possibleAnswers, allWords);
+    }
+
+    @Override
+    public String nextGuess() {
+        if (guesses[roundIndex] == MAX_GUESSES)
+            return "RQ";
+        String guess = player.nextGuess();
+        if (!guess.equals("RQ"))
+            guesses[roundIndex]++;
+        return guess;
+    }
+
+    @Override
+    public void guessScored(int board, String guess, int pattern, boolean correct) {
+        player.guessScored(board, guess, pattern);
+    }
+
+    @Override
+    public void roundFinished(int newPoints) {
+        points[roundIndex] = newPoints;
+    }
+}
+
+class SimulationStats {
+    // Totals of a number of simulated games.
+    long games;
+    long nanos;
+    int threads;
+    // How many times each round took each number of guesses
+    final long[][] guessCounts = new long[GameShow.ROUNDS.length][];
+    // How many times each round gave each number of points
+    final ArrayList<TreeMap<Integer, Long>> pointCounts = new ArrayList<TreeMap<Integer, Long>>();
+    // How many times each total score was reached
+    final TreeMap<Integer, Long> totalScoreCounts = new TreeMap<Integer, Long>();
+
+    SimulationStats() {
+        for (int i = 0; i < GameShow.ROUNDS.length; i++) {
+            guessCounts[i] = new long[HeadlessSession.MAX_GUESSES + 1];
+            pointCounts.add(new TreeMap<Integer, Long>());
+        }
+    }
+
+    void add(HeadlessSession session, int totalScore) {
+        games++;
+        for (int i = 0; i < GameShow.ROUNDS.length; i++) {
+            guessCounts[i][session.guesses[i]]++;
+            pointCounts.get(i).merge(session.points[i], 1L, Long::sum);
+        }
+        totalScoreCounts.merge(totalScore, 1L, Long::sum);
+    }
+
+    void merge(SimulationStats other) {
+        games += other.games;
+        for (int i = 0; i < GameShow.ROUNDS.length; i++) {
+            for (int g = 0; g < guessCounts[i].length; g++) {
+                guessCounts[i][g] += other.guessCounts[i][g];
+            }
+            for (Map.Entry<Integer, Long> entry : other.pointCounts.get(i).entrySet()) {
+                pointCounts.get(i).merge(entry.getKey(), entry.getValue(), Long::sum);
+            }
+        }
+        for (Map.Entry<Integer, Long> entry : other.totalScoreCounts.entrySet()) {
+            totalScoreCounts.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+    }
+
+    void print(PrintStream out) {
+        double seconds = nanos / 1e9;
+        out.format("Played %d games in %.2f s on %d threads (%.1f games/sec)%n", games, seconds, threads,
+                games / seconds);
+        out.println();
+        for (int i = 0; i < GameShow.ROUNDS.length; i++) {
+            out.println("ROUND " + (i + 1) + ": " + GameShow.ROUNDS[i].getName());
+            out.print("  Guesses:");
+            for (int g = 1; g < guessCounts[i].length; g++) {
+                if (guessCounts[i][g] > 0)
+                    out.format(" %d=%.1f%%", g, 100.0 * guessCounts[i][g] / games);
+            }
+            out.println();
+            out.println("  Points: " + summarize(pointCounts.get(i)));
+        }
+        out.println();
+        out.println("TOTAL SCORE: " + summarize(totalScoreCounts));
+    }
+
+    private String summarize(TreeMap<Integer, Long> counts) {
+        // Returns the mean and percentiles of a distribution.
+        long n = 0;
+        double sum = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            n += entry.getValue();
+            sum += (double) entry.getKey() * entry.getValue();
+        }
+        if (n == 0)
+            return "no games";
+        return String.format("mean=%.0f p10=%d p50=%d p90=%d max=%d", sum / n, percentile(counts, n, 0.1),
+                percentile(counts, n, 0.5), percentile(counts, n, 0.9), counts.lastKey());
+    }
+
+    private int percentile(TreeMap<Integer, Long> counts, long n, double fraction) {
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= fraction * n)
+                return entry.getKey();
+        }
+        return counts.lastKey();
+    }
+}
@@ -0,0 +1,259 @@
+// This is a class for working out good guesses, which is used to give the
+// player hints. The best guess is the one that is expected to give the most
+// information (entropy) about the answer: the one whose possible colour
+// patterns split the remaining answers most evenly. Every guess has to be
+// checked against every remaining answer, so the guesses are split between
+// all cores with a ForkJoinPool.
+// It also splits the remaining answers by the colours a guess would get, which
+// the Absurdle round uses to keep the answer away from the player.
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class Solver {
+    public static int[] allCandidates(Dictionary answers) {
+        // Returns the indexes of every word in `answers`, which are all still possible
+        // before the first guess.
+        int[] candidates = new int[answers.size()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i;
+        }
+        return candidates;
+    }
+
+    public static int[] filter(Dictionary answers, int[] candidates, String guess, int pattern) {
+        // Returns the candidates that would have given `pattern` for `guess`, ie. the
+        // answers that are still possible after seeing the colours of the guess.
+        int[] counts = Feedback.newScratch();
+        long packedGuess = PackedWord.pack(guess);
+        int[] remaining = new int[candidates.length];
+        int numRemaining = 0;
+        for (int candidate : candidates) {
+            if (Feedback.score(packedGuess, answers.getPacked(candidate), counts) == pattern)
+                remaining[numRemaining++] = candidate;
+        }
+        return Arrays.copyOf(remaining, numRemaining);
+    }
+
+    public static String bestGuess(Dictionary guesses, Dictionary answers, int[] candidates) {
+        // Returns the word in `guesses` that is expected to narrow down `candidates`
+        // (indexes into `answers`) the most.
+        return bestGuess(guesses, answers, candidates, true);
+    }
+
+    static String bestGuess(Dictionary guesses, Dictionary answers, int[] candidates, boolean useOpeningBook) {
+        return bestGuess(guesses, answers, candidates, useOpeningBook, ForkJoinPool.commonPool());
+    }
+
+    static String bestGuess(Dictionary guesses, Dictionary answers, int[] candidates, boolean useOpeningBook,
+            ForkJoinPool pool) {
+        // Checks the guesses on `pool` instead of on every core.
+        if (candidates.length == 0)
+            return null;
+        if (candidates.length <= 2) {
+            // Any guess can at best tell two answers apart, so guess one of them.
+            return answers.get(candidates[0]);
+        }
+        if (useOpeningBook) {
+            // The first two guesses of each round are usually in the opening book.
+            String guess = OpeningBook.lookup(guesses, answers, candidates);
+            if (guess != null)
+                return guess;
+        }
+        int maxLength = 0;
+        for (int i = 0; i < guesses.size(); i++) {
+            maxLength = Math.max(maxLength, PackedWord.length(guesses.getPacked(i)));
+        }
+        // Whether each answer is still a candidate, so that guesses that could be the
+        // answer win ties.
+        boolean[] isCandidate = new boolean[answers.size()];
+        for (int candidate : candidates) {
+            isCandidate[candidate] = true;
+        }
+        BestGuessTask task = new BestGuessTask(guesses, answers, candidates, isCandidate,
+                Feedback.numPatterns(maxLength), 0, guesses.size());
+        return guesses.get(pool.invoke(task).index);
+    }
+
+    public static class Bucket {
+        // The candidates that give a guess the same colours.
+        public final int pattern;
+        public final int[] candidates;
+
+        Bucket(int pattern, int[] candidates) {
+            this.pattern = pattern;
+            this.candidates = candidates;
+        }
+    }
+
+    public static Bucket largestBucket(Dictionary answers, int[] candidates, String guess) {
+        // Splits the candidates by the pattern `guess` gets against them and returns
+        // the largest group. Equal groups are broken in favour of a guess not being
+        // correct, then of the pattern with the lowest number. The candidates are
+        // scored once into an array of patterns and counted into an array indexed by
+        // pattern, in parallel if there are many of them.
+        int[] patterns = new int[candidates.length];
+        int numPatterns = Feedback.numPatterns(guess.length());
+        int[] bucketSizes = ForkJoinPool.commonPool()
+                .invoke(new PartitionTask(answers, candidates, PackedWord.pack(guess), patterns, numPatterns, 0,
+                        candidates.length));
+        int allGreen = Feedback.allGreen(guess.length());
+        int best = -1;
+        for (int pattern = 0; pattern < numPatterns; pattern++) {
+            if (bucketSizes[pattern] == 0)
+                continue;
+            if (best == -1 || bucketSizes[pattern] > bucketSizes[best]
+                    || (bucketSizes[pattern] == bucketSizes[best] && best == allGreen))
+                best = pattern;
+        }
+        int[] remaining = new int[best == -1 ? 0 : bucketSizes[best]];
+        int numRemaining = 0;
+        for (int i = 0; i < candidates.length; i++) {
+            if (patterns[i] == best)
+                remaining[numRemaining++] = candidates[i];
+        }
+        return new Bucket(best, remaining);
+    }
+
+    private static class PartitionTask extends RecursiveTask<int[]> {
+        // Scores candidates `start` (inclusive) to `end` (exclusive) into `patterns`
+        // and returns how many got each pattern.
+        private static final long serialVersionUID = 1L;
+        private static final int MIN_CANDIDATES_TO_SPLIT = 2048;
+
+        private final Dictionary answers;
+        private final int[] candidates;
+        private final long guess;
+        private final int[] patterns;
+        private final int numPatterns;
+        private final int start;
+        private final int end;
+
+        PartitionTask(Dictionary answers, int[] candidates, long guess, int[] patterns, int numPatterns, int start,
+                int end) {
+            this.answers = answers;
+            this.candidates = candidates;
+            this.guess = guess;
+            this.patterns = patterns;
+            this.numPatterns = numPatterns;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (end - start > MIN_CANDIDATES_TO_SPLIT) {
+                int middle = (start + end) >>> 1;
+                PartitionTask left = new PartitionTask(answers, candidates, guess, patterns, numPatterns, start,
+                        middle);
+                left.fork();
+                int[] bucketSizes = new PartitionTask(answers, candidates, guess, patterns, numPatterns, middle, end)
+                        .compute();
+                int[] leftSizes = left.join();
+                for (int pattern = 0; pattern < numPatterns; pattern++) {
+                    bucketSizes[pattern] += leftSizes[pattern];
+                }
+                return bucketSizes;
+            }
+            int[] bucketSizes = new int[numPatterns];
+            int[] counts = Feedback.newScratch();
+            for (int i = start; i < end; i++) {
+                int pattern = Feedback.score(guess, answers.getPacked(candidates[i]), counts);
+                patterns[i] = pattern;
+                bucketSizes[pattern]++;
+            }
+            return bucketSizes;
+        }
+    }
+
+    private static class Scored {
+        // A guess and how good it is.
+        final int index;
+        final double score;
+
+        Scored(int index, double score) {
+            this.index = index;
+            this.score = score;
+        }
+    }
+
+    private static class BestGuessTask extends RecursiveTask<Scored> {
+        // Finds the best guess among guesses `start` (inclusive) to `end` (exclusive),
+        // splitting the range in half until it is small enough to score directly.
+        private static final long serialVersionUID = 1L;
+        private static final int MIN_GUESSES_TO_SPLIT = 256;
+
+        private final Dictionary guesses;
+        private final Dictionary answers;
+        private final int[] candidates;
+        private final boolean[] isCandidate;
+        private final int numPatterns;
+        private final int start;
+        private final int end;
+
+        BestGuessTask(Dictionary guesses, Dictionary answers, int[] candidates, boolean[] isCandidate,
+                int numPatterns, int start, int end) {
+            this.guesses = guesses;
+            this.answers = answers;
+            this.candidates = candidates;
+            this.isCandidate = isCandidate;
+            this.numPatterns = numPatterns;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Scored compute() {
+            if (end - start > MIN_GUESSES_TO_SPLIT) {
+                int middle = (start + end) >>> 1;
+                BestGuessTask left = new BestGuessTask(guesses, answers, candidates, isCandidate, numPatterns,
+                        start, middle);
+                left.fork();
+                Scored right = new BestGuessTask(guesses, answers, candidates, isCandidate, numPatterns, middle,
+                        end).compute();
+                Scored best = left.join();
+                return right.score > best.score ? right : best;
+            }
+
+            // Each task reuses one histogram and one array of patterns for all its guesses.
+            int[] histogram = new int[numPatterns];
+            int[] patterns = new int[candidates.length];
+            int[] counts = Feedback.newScratch();
+            // x * log2(x) for every possible bucket size.
+            double[] xLogX = new double[candidates.length + 1];
+            for (int x = 2; x <= candidates.length; x++) {
+                xLogX[x] = x * Math.log(x) / Math.log(2);
+            }
+            double n = candidates.length;
+            double log2N = Math.log(n) / Math.log(2);
+
+            Scored best = new Scored(start, Double.NEGATIVE_INFINITY);
+            for (int g = start; g < end; g++) {
+                long guess = guesses.getPacked(g);
+                for (int i = 0; i < candidates.length; i++) {
+                    int pattern = Feedback.score(guess, answers.getPacked(candidates[i]), counts);
+                    patterns[i] = pattern;
+                    histogram[pattern]++;
+                }
+                // Entropy = log2(n) - (1/n) * sum(c * log2(c)) over the bucket sizes c.
+                double sum = 0;
+                for (int pattern : patterns) {
+                    int c = histogram[pattern];
+                    if (c > 0) {
+                        sum += xLogX[c];
+                        histogram[pattern] = 0;
+                    }
+                }
+                double score = log2N - sum / n;
+                // Prefer guesses that could be the answer when the information is equal.
+                int answerIndex = answers.indexOf(guess);
+                if (answerIndex != -1 && isCandidate[answerIndex])
+                    score += 1e-9;
+                if (score > best.score)
+                    best = new Scored(g, score);
+            }
+            return best;
+        }
+    }
+}
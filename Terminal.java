@@ -0,0 +1,39 @@
+// This is a class that works out once, at startup, what the terminal the game
+// runs in can do, and provides the escape sequences for clearing and redrawing
+// the screen in place. Clearing the screen only ever prints a few characters
+// and never starts a process.
+
+public class Terminal {
+    public static final boolean IS_WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    // Whether the terminal understands ANSI escape sequences. The game is coloured
+    // with them, so this is assumed unless the terminal says it is "dumb" or it is
+    // turned off with `-Dwordle.ansi=false`.
+    public static final boolean SUPPORTS_ANSI = !"dumb".equals(System.getenv("TERM"))
+            && !"false".equals(System.getProperty("wordle.ansi"));
+
+    // Moves the cursor to the top left, then clears the screen and the scrollback.
+    private static final String CLEAR_SCREEN = "\033[H\033[2J\033[3J";
+    // Switches to and from a separate screen, so that the terminal's previous
+    // contents come back when the game ends.
+    public static final String ENTER_ALTERNATE_SCREEN = "\033[?1049h";
+    public static final String LEAVE_ALTERNATE_SCREEN = "\033[?1049l";
+    // Remember and go back to where the cursor is, and clear the rest of its line or
+    // of the screen, so that lines can be redrawn without redrawing the screen.
+    public static final String SAVE_CURSOR = "\0337";
+    public static final String RESTORE_CURSOR = "\0338";
+    public static final String CLEAR_TO_END_OF_LINE = "\033[K";
+    public static final String CLEAR_TO_END_OF_SCREEN = "\033[J";
+    // Without ANSI, the old contents are pushed off the top of the screen instead.
+    private static final String BLANK_LINES = System.lineSeparator().repeat(50);
+
+    public static String cursorUp(int lines) {
+        // Returns the text that moves the cursor up this many lines when printed.
+        return "\033[" + lines + "A";
+    }
+
+    public static String clearScreen() {
+        // Returns the text that clears the screen when printed.
+        return SUPPORTS_ANSI ? CLEAR_SCREEN : BLANK_LINES;
+    }
+}
@@ -0,0 +1,71 @@
+// This is a class that keeps every word list file that has been read, so each
+// file is only read from disk the first time a round asks for it. The same
+// `Dictionary` is then shared by every round, replay and thread. Dictionaries
+// are never modified after they are built, so sharing them is safe.
+// Dictionaries come from the precompiled `DictionarySnapshot` when it is up to
+// date, and otherwise from the text files.
+
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WordLists {
+    private static final ConcurrentHashMap<String, Dictionary> dictionaries = new ConcurrentHashMap<String, Dictionary>();
+
+    // Counters to check that files are only read once.
+    private static final AtomicLong requests = new AtomicLong();
+    private static final AtomicLong loads = new AtomicLong();
+    private static final AtomicLong snapshotLoads = new AtomicLong();
+    private static final AtomicLong loadNanos = new AtomicLong();
+
+    public static Dictionary get(String fileName) {
+        // Returns the words in `fileName`, reading the file if this is the first time
+        // it has been asked for. If several threads ask for the same file at once,
+        // only one of them reads it and the others wait for the result.
+        requests.incrementAndGet();
+        return dictionaries.computeIfAbsent(Paths.get(fileName).normalize().toString(), WordLists::load);
+    }
+
+    public static Dictionary getLoaded(String fileName) {
+        // Returns the words in `fileName` if the file has already been read, and
+        // otherwise null, without reading it.
+        return dictionaries.get(Paths.get(fileName).normalize().toString());
+    }
+
+    private static Dictionary load(String fileName) {
+        long start = System.nanoTime();
+        Dictionary dictionary = DictionarySnapshot.read(fileName);
+        if (dictionary == null)
+            dictionary = new Dictionary(WordleRound.getWords(fileName));
+        else
+            snapshotLoads.incrementAndGet();
+        loadNanos.addAndGet(System.nanoTime() - start);
+        loads.incrementAndGet();
+        return dictionary;
+    }
+
+    public static long getHits() {
+        // Number of requests that were answered without reading a file.
+        return requests.get() - loads.get();
+    }
+
+    public static long getMisses() {
+        // Number of requests that had to read a file.
+        return loads.get();
+    }
+
+    public static long getSnapshotLoads() {
+        // Number of files that were loaded from the snapshot instead of parsed.
+        return snapshotLoads.get();
+    }
+
+    public static long getLoadMillis() {
+        // Total time spent reading files.
+        return loadNanos.get() / 1000000;
+    }
+
+    public static String getStats() {
+        return "Word lists: " + getMisses() + " loaded (" + getSnapshotLoads() + " from the snapshot) in "
+                + getLoadMillis() + " ms, " + getHits() + " served from memory.";
+    }
+}
@@ -0,0 +1,13 @@
+public class WordListsTest {
+    public static void main(String[] args) {
+        Dictionary first = WordLists.get("./wordlist_5_all.txt");
+        Dictionary second = WordLists.get("wordlist_5_all.txt");
+        System.out.println(first == second);
+        System.out.println(WordLists.getMisses() == 1);
+        System.out.println(WordLists.getHits() == 1);
+        WordLists.get("./wordlist_5_answers.txt");
+        System.out.println(WordLists.getMisses() == 2);
+        System.out.println(first.contains("CRANE"));
+        System.out.println(!first.contains("CRANES"));
+    }
+}
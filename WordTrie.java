@@ -0,0 +1,98 @@
+// This is a class for checking, letter by letter, whether what the player has
+// typed so far can still become a word of a round's dictionary, so that a wrong
+// letter can be flagged as soon as it is typed. The dictionary is turned into a
+// trie (a tree with a node for every prefix of a word) stored in three arrays:
+// for each node, a bitmask of the letters that can follow it, the index of its
+// first child, and a bitmask of the lengths of the words that start with it. The
+// children of a node are stored next to each other in alphabetical order, so the
+// child for a letter is found by counting the bits of the mask below that letter.
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class WordTrie {
+    private static final ConcurrentHashMap<Dictionary, WordTrie> tries = new ConcurrentHashMap<Dictionary, WordTrie>();
+
+    // Node 0 is the empty prefix.
+    private final int[] letters; // Bit `letter & 31` is set if that letter can follow
+    private final int[] firstChild;
+    private final short[] lengths; // Bit n is set if a word of n letters starts here
+
+    public static WordTrie of(Dictionary words) {
+        // Each dictionary is only turned into a trie once and then shared.
+        return tries.computeIfAbsent(words, WordTrie::new);
+    }
+
+    private WordTrie(Dictionary words) {
+        // Build a plain trie with an array of children per node first, then lay it out
+        // compactly, one level at a time.
+        int[][] children = new int[1024][];
+        short[] wordLengths = new short[1024];
+        children[0] = new int[32];
+        int numNodes = 1;
+        for (int i = 0; i < words.size(); i++) {
+            long word = words.getPacked(i);
+            int length = PackedWord.length(word);
+            int node = 0;
+            wordLengths[0] |= 1 << length;
+            for (int p = 0; p < length; p++) {
+                int letter = PackedWord.letterAt(word, p);
+                if (children[node][letter] == 0) {
+                    if (numNodes == children.length) {
+                        children = Arrays.copyOf(children, numNodes * 2);
+                        wordLengths = Arrays.copyOf(wordLengths, numNodes * 2);
+                    }
+                    children[numNodes] = new int[32];
+                    children[node][letter] = numNodes++;
+                }
+                node = children[node][letter];
+                wordLengths[node] |= 1 << length;
+            }
+        }
+
+        letters = new int[numNodes];
+        firstChild = new int[numNodes];
+        lengths = new short[numNodes];
+        // `order[i]` is the plain trie node that goes in position i. Each node's
+        // children are given the next free positions when it is laid out.
+        int[] order = new int[numNodes];
+        int numPlaced = 1;
+        for (int i = 0; i < numNodes; i++) {
+            int node = order[i];
+            lengths[i] = wordLengths[node];
+            firstChild[i] = numPlaced;
+            for (int letter = 1; letter <= 26; letter++) {
+                if (children[node][letter] != 0) {
+                    letters[i] |= 1 << letter;
+                    order[numPlaced++] = children[node][letter];
+                }
+            }
+        }
+    }
+
+    public int validPrefixLength(String typed, int wordLength) {
+        // Returns how many of the letters typed can still become a word, with
+        // `wordLength` letters unless it is 0. Anything other than an uppercase letter
+        // ends the valid prefix.
+        int lengthBit = wordLength > 0 ? 1 << wordLength : -1;
+        if ((lengths[0] & lengthBit) == 0)
+            return 0;
+        int node = 0;
+        for (int i = 0; i < typed.length(); i++) {
+            char c = typed.charAt(i);
+            if (c < 'A' || c > 'Z')
+                return i;
+            int bit = 1 << (c & 31);
+            if ((letters[node] & bit) == 0)
+                return i;
+            node = firstChild[node] + Integer.bitCount(letters[node] & (bit - 1));
+            if ((lengths[node] & lengthBit) == 0)
+                return i;
+        }
+        return typed.length();
+    }
+
+    public int getNumNodes() {
+        return letters.length;
+    }
+}
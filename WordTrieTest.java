@@ -0,0 +1,58 @@
+import java.util.Arrays;
+import java.util.HashSet;
+
+public class WordTrieTest {
+    public static void main(String[] args) {
+        // The valid prefix should be as long as the longest prefix that some word of
+        // the right length starts with, checked against every word for every prefix of
+        // a few words from each list and from outside it.
+        String[] lists = { "./wordlist_5_all.txt", "./wordlist_4_all.txt", "./wordlist_6_all.txt",
+                "./wordlist_java_keywords.txt" };
+        for (String list : lists) {
+            Dictionary words = WordLists.get(list);
+            WordTrie trie = WordTrie.of(words);
+            HashSet<String> prefixes = new HashSet<String>();
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                for (int end = 0; end <= word.length(); end++) {
+                    prefixes.add(word.length() + ":" + word.substring(0, end));
+                }
+            }
+            boolean same = true;
+            String[] typed = { "CRANE", "QXZ", "ZZZZZZ", "SWITCHES", "ABSTRACT", "CASTLE", "WHILE", "XYLO" };
+            for (int i = 0; i < words.size(); i += 97) {
+                typed = Arrays.copyOf(typed, typed.length + 1);
+                typed[typed.length - 1] = words.get(i) + "Q";
+            }
+            for (String word : typed) {
+                for (int wordLength : new int[] { 0, 4, 5, 6, 8 }) {
+                    int expected = 0;
+                    while (expected < word.length() && hasPrefix(prefixes, word.substring(0, expected + 1), wordLength))
+                        expected++;
+                    if (!hasPrefix(prefixes, "", wordLength))
+                        expected = 0;
+                    same &= trie.validPrefixLength(word, wordLength) == expected;
+                }
+            }
+            System.out.println(same);
+        }
+        // Lengths are enforced, and anything other than uppercase letters is invalid.
+        Dictionary words = new Dictionary(Arrays.asList("CAT", "CATS", "DOG"));
+        WordTrie trie = WordTrie.of(words);
+        System.out.println(trie.validPrefixLength("CATS", 0) == 4 && trie.validPrefixLength("CATS", 3) == 3
+                && trie.validPrefixLength("DOGS", 4) == 0 && trie.validPrefixLength("DOGS", 3) == 3);
+        System.out.println(trie.validPrefixLength("cat", 0) == 0 && trie.validPrefixLength("CA7", 3) == 2
+                && trie.validPrefixLength("", 5) == 0 && trie.getNumNodes() == 8);
+        System.out.println(WordTrie.of(words) == trie);
+    }
+
+    private static boolean hasPrefix(HashSet<String> prefixes, String prefix, int wordLength) {
+        if (wordLength > 0)
+            return prefixes.contains(wordLength + ":" + prefix);
+        for (int length = 1; length <= Dictionary.MAX_WORD_LENGTH; length++) {
+            if (prefixes.contains(length + ":" + prefix))
+                return true;
+        }
+        return false;
+    }
+}
@@ -3,7 +3,8 @@
 
 import java.io.*;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 class WordleResult {
     // Data class to store the output of `mainWordle` method.
@@ -89,81 +90,91 @@ abstract class WordleRound {
         return numAnswers;
     }
 
-    public void begin(Scanner in, int roundIndex, boolean skipRules) {
+    public void begin(Session session, int roundIndex, boolean skipRules) {
         // This method is called when a new round is started.
         // It prints the round's rules and prompts the user to begin.
-        Utils.clearScreen();
-        System.out.println("ROUND " + roundIndex + ": " + this.getName());
-        System.out.println();
-        System.out.println(this.getDescription());
+        session.clearScreen();
+        session.println("ROUND " + roundIndex + ": " + this.getName());
+        session.println();
+        session.println(this.getDescription());
+        if (session.isHardMode()) {
+            session.println();
+            session.println(Utils.RED
+                    + "HARD MODE: every guess must keep the green letters in place and use every orange letter"
+                    + (this.getNumAnswers() == 1 ? "" : " of at least one board") + "." + Utils.RESET);
+        }
         if (!skipRules) {
-            System.out.println(
+            session.println(
                     "If you don't get " + (this.getNumAnswers() == 1 ? "the answer" : "any answer")
                             + " in the allotted number of guesses, you will not get any points.");
-            System.out.println();
-            System.out.println(
+            session.println();
+            session.println(
                     "For the best display of colours, it is recommended that this game is played in a terminal whose background colour is dark.");
         }
-        System.out.println();
+        session.println();
         if (!skipRules) {
-            System.out.println();
-            Utils.sleep(1000);
-            Utils.prettyPrint("Press enter to continue...");
-            Utils.sleep(500);
-            System.out.println("(If you already know how to play Wordle, enter 'S' to skip the rules.)");
-            System.out.println();
+            session.println();
+            session.sleep(1000);
+            session.prettyPrint("Press enter to continue...");
+            session.sleep(500);
+            session.println("(If you already know how to play Wordle, enter 'S' to skip the rules.)");
+            session.println();
             while (true) {
-                String input = in.nextLine();
+                String input = session.nextLine();
                 if (input.toUpperCase().equals("S")) {
                     break;
                 } else {
                     // Print wordle rules
-                    Utils.clearScreen();
-                    System.out.println("RULES:");
-                    System.out.println();
-                    System.out
+                    session.clearScreen();
+                    session.println("RULES:");
+                    session.println();
+                    session
                             .println(
                                     "Type a "
                                             + (this.getNumLetters() > 0 ? this.getNumLetters() + "-letter word"
                                                     : "word")
                                             + " and press enter. Each letter will be highlighted either...");
-                    System.out.println();
-                    System.out.println(Utils.WHITE + "WHITE: this letter does not exist in the word.");
-                    System.out.println(Utils.ORANGE + "ORANGE: this letter exists in the word but is not in the right location.");
-                    System.out.println(Utils.GREEN + "GREEN: this letter exists in the word and is in the right location.");
-                    System.out.println(Utils.RESET);
-                    Utils.sleep(1000);
-                    Utils.prettyPrint("Press enter to continue...");
-                    in.nextLine();
+                    session.println();
+                    session.println(Utils.WHITE + "WHITE: this letter does not exist in the word.");
+                    session.println(Utils.ORANGE + "ORANGE: this letter exists in the word but is not in the right location.");
+                    session.println(Utils.GREEN + "GREEN: this letter exists in the word and is in the right location.");
+                    session.println(Utils.RESET);
+                    session.sleep(1000);
+                    session.prettyPrint("Press enter to continue...");
+                    session.nextLine();
                     break;
                 }
             }
-            Utils.clearScreen();
-            System.out.println(
+            session.clearScreen();
+            session.println(
                     "You can type 'RQ' to rage quit the current level and skip to the next level at any time.");
+            session.println("Stuck? Type '?' for a hint.");
+            if (this.getNumAnswers() == 1)
+                session.println("Type '!' to list the answers that are still possible.");
         }
-        Utils.sleep(1000);
-        Utils.prettyPrint("Enter your first guess:");
-        System.out.println();
+        session.sleep(1000);
+        session.prettyPrint("Enter your first guess:");
+        session.println();
     }
 
     // This method is called to play the round. It's the most important method that
     // child classes have to implement.
     // Returns the total number of points earned by the player up to this round.
-    abstract int play(Scanner in, int prevScore, boolean includeTotalScore);
+    abstract int play(Session session, int prevScore, boolean includeTotalScore);
 
     // The following are utility methods that may be used in the `play` method of
     // child class implementations.
-    static void printFinishedRoundMessage(int newPoints, int totalScore, Scanner in, boolean includeTotalScore) {
+    static void printFinishedRoundMessage(int newPoints, int totalScore, Session session, boolean includeTotalScore) {
+        session.roundFinished(newPoints);
         if (includeTotalScore)
-            System.out.println("This earns you an additional " + newPoints + " points for a total score of " + totalScore + ".");
+            session.println("This earns you an additional " + newPoints + " points for a total score of " + totalScore + ".");
         else
-            System.out.println("This earns you " + newPoints + " points.");
-        System.out.println();
-        Utils.sleep(1000);
-        Utils.prettyPrint("Press enter to continue...");
-        in.nextLine();
-        Utils.clearScreen();
+            session.println("This earns you " + newPoints + " points.");
+        session.println();
+        session.sleep(1000);
+        session.prettyPrint("Press enter to continue...");
+        session.nextLine();
+        session.clearScreen();
     }
 
     static ArrayList<String> getWords(String fileName) {
@@ -192,148 +203,183 @@ abstract class WordleRound {
         return words;
     }
 
-    WordleResult mainWordle(Scanner in, String answer, ArrayList<String> allWords) {
+    static Dictionary getDictionary(String fileName) {
+        // This method returns the words of a text file as a `Dictionary`, which can
+        // check whether a guess is a word in constant time. Each file is only read
+        // once and then shared between rounds.
+        return WordLists.get(fileName);
+    }
+
+    WordleResult mainWordle(Session session, String answer, Dictionary possibleAnswers, Dictionary allWords) {
         // Overload variant of `mainWordle` where the number of letters is simply the
         // length of the answer.
-        return this.mainWordle(in, answer, allWords, answer.length());
+        return this.mainWordle(session, answer, possibleAnswers, allWords, answer.length());
     }
 
-    WordleResult mainWordle(Scanner in, String answer, ArrayList<String> allWords, int numLetters) {
+    WordleResult mainWordle(Session session, String answer, Dictionary possibleAnswers, Dictionary allWords,
+            int numLetters) {
         // This method carries out the logic and user interface of a Wordle game with
         // one answer.
+        session.startRound(this, possibleAnswers, allWords);
         boolean successful = false;
         // Store all guesses in a variable so we can print them all out later.
         ArrayList<String> allGuesses = new ArrayList<String>();
-        Utils.VoidFunction printGuesses = () -> {
-            // Print out all guesses so far with their letters highlighted in appropriate
-            // colours.
-            for (int i = 0; i < allGuesses.size(); i++) {
-                printColoredWord(allGuesses.get(i), answer, false);
-                System.out.println();
+        // The lines of the board: every guess so far with its letters highlighted in
+        // the appropriate colours, then how many answers are still possible.
+        ArrayList<String> board = new ArrayList<String>();
+        BoardView view = new BoardView(session);
+        // The answers that are still possible after the colours of every guess so far.
+        // Each guess narrows them down further.
+        final long[] candidates = CandidateIndex.of(possibleAnswers).all();
+        // In hard mode, the clues every guess has to follow.
+        final GuessConstraints[] hardMode = session.isHardMode() ? new GuessConstraints[] { new GuessConstraints() }
+                : null;
+        Supplier<String> getHint = () -> {
+            // Suggest the guess that narrows down the answers that are still possible
+            // the most.
+            int[] remaining = CandidateIndex.toIndexes(candidates);
+            return "Hint: try " + Solver.bestGuess(allWords, possibleAnswers, remaining) + ". There "
+                    + (remaining.length == 1 ? "is 1 possible answer" : "are " + remaining.length + " possible answers")
+                    + " left.";
+        };
+        Supplier<String> listCandidates = () -> {
+            String list = "Possible answers:";
+            for (int index : CandidateIndex.toIndexes(candidates)) {
+                list += " " + possibleAnswers.get(index);
             }
+            return list;
         };
         while (true) {
-            String guess = this.getGuess(in, numLetters, allWords, printGuesses);
+            String guess = this.getGuess(session, numLetters, allWords, view, getHint, listCandidates, hardMode);
 
             if (guess.equals("RQ")) {
-                System.out.println("You rage quit. The answer is: " + answer);
+                session.println("You rage quit. The answer is: " + answer);
                 successful = false;
                 break;
             }
-            Utils.clearScreen();
-            // If all the guesses have been used up without finding the answer, notify the
-            // player.
-            if (!guess.equals(answer) && (allGuesses.size() + 1) == this.getNumGuesses()) {
-                System.out.println("You have used up all " + this.getNumGuesses()
-                        + " guesses, so you won't get any points for this round. You can keep guessing, or you can enter 'RQ' to rage quit and move onto the next round.");
-            }
-            System.out.println();
-            // Print out old guesses and the new guess.
-            printGuesses.run();
-            printColoredWord(guess, answer, true);
-            System.out.println();
+            int pattern = Feedback.score(guess, answer);
             allGuesses.add(guess);
+            session.guessScored(0, guess, pattern, guess.equals(answer));
+            // The new guess takes the place of the number of possible answers, and is
+            // revealed letter by letter.
+            if (!board.isEmpty())
+                board.remove(board.size() - 1);
+            board.add(coloredWord(guess, pattern));
             // If the guess is correct, notify the player and break out of the loop.
             if (guess.equals(answer)) {
-                System.out.println("Heck yea, you got the correct answer in " + allGuesses.size() + " guesses!");
+                view.show(board, null, board.size() - 1);
+                session.println("Heck yea, you got the correct answer in " + allGuesses.size() + " guesses!");
                 successful = true;
                 break;
             }
+            CandidateIndex.of(possibleAnswers).narrow(candidates, guess, pattern);
+            if (hardMode != null)
+                hardMode[0].add(guess, pattern);
+            board.add(remainingMessage(CandidateIndex.count(candidates)));
+            // If all the guesses have been used up without finding the answer, notify the
+            // player.
+            view.show(board, allGuesses.size() == this.getNumGuesses() ? usedUpMessage(false) : null,
+                    board.size() - 2);
         }
 
         return new WordleResult(allGuesses, successful);
     }
 
-    public static void printColoredWord(String guess, final String answer, boolean showAnimation) {
+    // Colour used to print a letter, indexed by the colours in `Feedback`.
+    private static final String[] COLORS = { Utils.WHITE, Utils.ORANGE, Utils.GREEN };
+
+    public static void printColoredWord(Session session, String guess, final String answer, boolean showAnimation) {
         // This method accepts a guess and the correct answer. It will print out the
         // guess with each letter hightlighted with the appropriate color according to
         // the rules of Wordle.
         // Note that this method does not print a linebreak after the word.
-        String output = "";
-        int wordLength = guess.length();
-        int answerLength = answer.length();
-        for (int i = 0; i < wordLength; i++) {
-            char thisLetter = guess.charAt(i);
-            if (i < answerLength) {
-                if (thisLetter == answer.charAt(i)) {
-                    output = Utils.GREEN + thisLetter;
-                } else if (answer.contains(thisLetter + "")) {
-                    int index = answer.indexOf(thisLetter);
-                    if (guess.indexOf(thisLetter) == i) {
-                        // This is the first occurance of this letter in the guess
-                        if (guess.length() <= index || guess.charAt(index) != thisLetter
-                                || answer.substring(index + 1).contains(thisLetter + "")) {
-                            // The letter at the position of the the answer and guess is not the same OR
-                            // This letter appears twice in this answer
-                            output = Utils.ORANGE + thisLetter;
-                        } else {
-                            output = Utils.WHITE + thisLetter;
-                        }
-                    } else if (answer.substring(index + 1).contains(thisLetter + "")
-                            && answer.substring(index + 1).indexOf(thisLetter) == i) {
-                        // This letter appears twice in this answer and this is the second occurance of
-                        // this letter in the guess
-                        output = Utils.WHITE + thisLetter;
-                    } else {
-                        output = Utils.WHITE + thisLetter;
-                    }
-                } else {
-                    output = Utils.WHITE + thisLetter;
-                }
-            } else {
-                // If the guess is longer than the answer, then we don't need to worry about any
-                // letter being green.
-                if (answer.contains(thisLetter + "")) {
-                    if (guess.indexOf(thisLetter) == i) {
-                        // This is the first occurance of this letter in the guess
-                        output = Utils.ORANGE + thisLetter;
-                    } else if (answer.substring(answer.indexOf(thisLetter) + 1).contains(thisLetter + "")
-                            && answer.substring(answer.indexOf(thisLetter) + 1).indexOf(thisLetter) == i) {
-                        // This letter appears twice in this answer and this is the second occurance of
-                        // this letter in the guess
-                        output = Utils.WHITE + thisLetter;
-                    } else {
-                        output = Utils.WHITE + thisLetter;
-                    }
-                } else {
-                    output = Utils.WHITE + thisLetter;
-                }
-            }
-            if (showAnimation) {
-                System.out.print(output);
-                Utils.sleep(250);
-            } else {
-                System.out.print(output);
-            }
+        printColoredWord(session, guess, Feedback.score(guess, answer), showAnimation);
+    }
+
+    public static void printColoredWord(Session session, String guess, int pattern, boolean showAnimation) {
+        // Overload variant of `printColoredWord` for a guess whose colours have
+        // already been worked out by `Feedback.score`.
+        if (!showAnimation) {
+            session.print(coloredWord(guess, pattern));
+            return;
+        }
+        for (int i = 0; i < guess.length(); i++) {
+            session.print(COLORS[Feedback.colorAt(pattern, i)] + guess.charAt(i));
+            session.sleep(250);
+        }
+        session.print(Utils.RESET);
+    }
+
+    static String coloredWord(String guess, int pattern) {
+        // Returns the guess with each letter in the colour `pattern` gives it, ready
+        // to be printed.
+        StringBuilder word = new StringBuilder(guess.length() * 12);
+        for (int i = 0; i < guess.length(); i++) {
+            word.append(COLORS[Feedback.colorAt(pattern, i)]).append(guess.charAt(i));
         }
-        System.out.print(Utils.RESET);
+        return word.append(Utils.RESET).toString();
+    }
+
+    static String remainingMessage(int numRemaining) {
+        return numRemaining == 1 ? "There is 1 possible answer left."
+                : "There are " + numRemaining + " possible answers left.";
     }
 
-    String getGuess(Scanner in, int wordLength, ArrayList<String> words, Utils.VoidFunction recreateCurrentScreen) {
+    String usedUpMessage(boolean severalAnswers) {
+        // The message shown once the last guess that can earn points has been made.
+        return "You have used up all " + this.getNumGuesses() + " guesses, so you won't get any points"
+                + (severalAnswers ? " for any correct guesses after this point" : " for this round")
+                + ". You can keep guessing, or you can enter 'RQ' to rage quit and move onto the next round.";
+    }
+
+    String getGuess(Session session, int wordLength, Dictionary words, BoardView view) {
+        // Overload variant of `getGuess` for rounds that do not give hints.
+        return this.getGuess(session, wordLength, words, view, null);
+    }
+
+    String getGuess(Session session, int wordLength, Dictionary words, BoardView view, Supplier<String> getHint) {
+        // Overload variant of `getGuess` for rounds that cannot list the possible
+        // answers.
+        return this.getGuess(session, wordLength, words, view, getHint, null, null);
+    }
+
+    String getGuess(Session session, int wordLength, Dictionary words, BoardView view, Supplier<String> getHint,
+            Supplier<String> listCandidates, GuessConstraints[] hardMode) {
         // This method obtains the user's inputted guess and handles the logic for
-        // dealing with invalid guesses.
+        // dealing with invalid guesses, which are explained under the board in `view`.
+        // If `getHint` is not null, entering '?' shows the hint it returns, and if
+        // `listCandidates` is not null, entering '!' shows the list it returns. If
+        // `hardMode` is not null, the guess must follow the clues of at least one of
+        // its boards.
         String guess;
         while (true) {
-            guess = in.nextLine().toUpperCase();
+            guess = session.nextGuess(words, wordLength).toUpperCase();
 
             if (guess.equals("RQ"))
                 break;
 
+            if ((getHint != null && guess.equals("?")) || (listCandidates != null && guess.equals("!"))) {
+                view.showMessage(guess.equals("?") ? getHint.get() : listCandidates.get());
+                continue;
+            }
+
             // Check that guess has correct number of characters
             if (wordLength > 0 && guess.length() != wordLength) {
-                Utils.clearScreen();
-                System.out.println(Utils.RED + "Please enter a word with " + wordLength + " letters." + Utils.RESET);
-                System.out.println();
-                recreateCurrentScreen.run();
+                view.showMessage(Utils.RED + "Please enter a word with " + wordLength + " letters." + Utils.RESET);
                 continue;
             }
 
             // Check that guess is a word
             if (!words.contains(guess)) {
-                Utils.clearScreen();
-                System.out.println(Utils.RED + guess + " is not a " + this.getTypeOfWords() + "." + Utils.RESET);
-                System.out.println();
-                recreateCurrentScreen.run();
+                view.showMessage(Utils.RED + guess + " is not a " + this.getTypeOfWords() + "." + Utils.RESET);
+                continue;
+            }
+
+            // Check that guess uses the clues so far in hard mode
+            if (hardMode != null && !followsClues(hardMode, guess)) {
+                String brokenClue = hardMode.length == 1 ? hardMode[0].describeBrokenClue(guess)
+                        : guess + " does not use every clue of any board.";
+                view.showMessage(Utils.RED + "Hard mode: " + brokenClue + Utils.RESET);
                 continue;
             }
             break;
@@ -341,7 +387,26 @@ abstract class WordleRound {
         return guess;
     }
 
-    int postprocessWordleResult(WordleResult result, int prevScore, boolean includeTotalScore, Scanner in) {
+    private static boolean followsClues(GuessConstraints[] boards, String guess) {
+        // Returns whether the guess follows the clues of at least one board. The guess
+        // is packed once and then checked against each board in constant time.
+        long packed = PackedWord.pack(guess);
+        if (packed == -1)
+            return boards[0].allows(guess);
+        int[] counts = new int[32];
+        for (int i = 0; i < guess.length(); i++) {
+            counts[guess.charAt(i) & 31]++;
+        }
+        long countsLow = GuessConstraints.packCounts(counts, 0);
+        long countsHigh = GuessConstraints.packCounts(counts, 16);
+        for (GuessConstraints board : boards) {
+            if (board.allows(packed, countsLow, countsHigh))
+                return true;
+        }
+        return false;
+    }
+
+    int postprocessWordleResult(WordleResult result, int prevScore, boolean includeTotalScore, Session session) {
         // This method calculates new score and finishes the round after a Wordle round
         // is finished playing.
         ArrayList<String> allGuesses = result.getAllGuesses();
@@ -352,7 +417,7 @@ abstract class WordleRound {
                 ? (int) Math.pow((this.getNumGuesses() - allGuesses.size() + 1), 2) * 100
                 : 0;
         int totalScore = newPoints + prevScore;
-        printFinishedRoundMessage(newPoints, totalScore, in, includeTotalScore);
+        printFinishedRoundMessage(newPoints, totalScore, session, includeTotalScore);
         return totalScore;
     }
 
@@ -364,13 +429,13 @@ class Round1 extends WordleRound {
     }
 
     @Override
-    int play(Scanner in, int prevScore, boolean includeTotalScore) {
-        final ArrayList<String> possibleAnswers = getWords("./wordlist_5_answers.txt");
-        final ArrayList<String> allWords = getWords("./wordlist_5_all.txt");
-        final String answer = possibleAnswers.get((int) (Math.random() * possibleAnswers.size()));
+    int play(Session session, int prevScore, boolean includeTotalScore) {
+        final Dictionary possibleAnswers = getDictionary("./wordlist_5_answers.txt");
+        final Dictionary allWords = getDictionary("./wordlist_5_all.txt");
+        final String answer = possibleAnswers.get(ThreadLocalRandom.current().nextInt(possibleAnswers.size()));
 
-        WordleResult result = mainWordle(in, answer, allWords);
-        return postprocessWordleResult(result, prevScore, includeTotalScore, in);
+        WordleResult result = mainWordle(session, answer, possibleAnswers, allWords);
+        return postprocessWordleResult(result, prevScore, includeTotalScore, session);
     }
 }
 
@@ -380,13 +445,13 @@ class Round2 extends WordleRound {
     }
 
     @Override
-    int play(Scanner in, int prevScore, boolean includeTotalScore) {
-        final ArrayList<String> words_possible_ansnwers = getWords("./wordlist_4_answers.txt");
-        final ArrayList<String> allWords = getWords("./wordlist_4_all.txt");
-        final String answer = words_possible_ansnwers.get((int) (Math.random() * words_possible_ansnwers.size()));
+    int play(Session session, int prevScore, boolean includeTotalScore) {
+        final Dictionary words_possible_ansnwers = getDictionary("./wordlist_4_answers.txt");
+        final Dictionary allWords = getDictionary("./wordlist_4_all.txt");
+        final String answer = words_possible_ansnwers.get(ThreadLocalRandom.current().nextInt(words_possible_ansnwers.size()));
 
-        WordleResult result = mainWordle(in, answer, allWords);
-        return postprocessWordleResult(result, prevScore, includeTotalScore, in);
+        WordleResult result = mainWordle(session, answer, words_possible_ansnwers, allWords);
+        return postprocessWordleResult(result, prevScore, includeTotalScore, session);
     }
 }
 
@@ -396,134 +461,271 @@ class Round3 extends WordleRound {
     }
 
     @Override
-    int play(Scanner in, int prevScore, boolean includeTotalScore) {
-        final ArrayList<String> allWords = getWords("./wordlist_6_all.txt");
-        final ArrayList<String> possibleAnswers = getWords("./wordlist_6_answers.txt");
-        final String answer = possibleAnswers.get((int) (Math.random() * possibleAnswers.size()));
+    int play(Session session, int prevScore, boolean includeTotalScore) {
+        final Dictionary allWords = getDictionary("./wordlist_6_all.txt");
+        final Dictionary possibleAnswers = getDictionary("./wordlist_6_answers.txt");
+        final String answer = possibleAnswers.get(ThreadLocalRandom.current().nextInt(possibleAnswers.size()));
 
-        WordleResult result = mainWordle(in, answer, allWords);
-        return postprocessWordleResult(result, prevScore, includeTotalScore, in);
+        WordleResult result = mainWordle(session, answer, possibleAnswers, allWords);
+        return postprocessWordleResult(result, prevScore, includeTotalScore, session);
     }
 }
 
-class Round4 extends WordleRound {
-    Round4() {
-        super("DOUBLE WORDLE",
-                "You have six tries to guess two 5-letter words. Each guess will be used on both words simultaneously. You will earn points for each answer you solve under the allocated number of attempts.",
-                5, 6, 2);
+class MultiWordleRound extends WordleRound {
+    // A Wordle round with several 5-letter answers on separate boards. Each guess is
+    // played on every board that has not been solved yet.
+
+    // Boards are laid out side by side in rows that fit in this many characters.
+    private static final int SCREEN_WIDTH = 80;
+    // Gap between boards when there are two of them, and when there are more.
+    private static final String WIDE_GAP = "               ";
+    private static final String NARROW_GAP = "   ";
+
+    MultiWordleRound(String name, String description, int numBoards, int numGuesses) {
+        super(name, description, 5, numGuesses, numBoards);
     }
 
     @Override
-    int play(Scanner in, int prevScore, boolean includeTotalScore) {
-        final String gap = "               "; // Gap between the two wordles when they are printed out.
-
-        final ArrayList<String> possibleAnswers = getWords("./wordlist_5_answers.txt");
-        final ArrayList<String> allWords = getWords("./wordlist_5_all.txt");
-        final String answer1 = possibleAnswers.get((int) (Math.random() * possibleAnswers.size()));
-        final String answer2;
-        String s;
-        while (true) {
-            if (!(s = possibleAnswers.get((int) (Math.random() * possibleAnswers.size())))
-                    .equals(answer1)) {
-                answer2 = s;
-                break;
-            }
+    int play(Session session, int prevScore, boolean includeTotalScore) {
+        final Dictionary possibleAnswers = getDictionary("./wordlist_5_answers.txt");
+        final Dictionary allWords = getDictionary("./wordlist_5_all.txt");
+        final int numBoards = this.getNumAnswers();
+        // Every board has a different answer.
+        final String[] answers = new String[numBoards];
+        int[] answerIndexes = ThreadLocalRandom.current().ints(0, possibleAnswers.size()).distinct().limit(numBoards)
+                .toArray();
+        for (int i = 0; i < numBoards; i++) {
+            answers[i] = possibleAnswers.get(answerIndexes[i]);
         }
+        session.startRound(this, possibleAnswers, allWords);
         ArrayList<String> allGuesses = new ArrayList<String>();
+        // The colours of each guess on each board, or -1 on boards that were already
+        // solved before the guess.
+        ArrayList<int[]> allPatterns = new ArrayList<int[]>();
+
+        // How many guesses it took to solve each answer, 0 if the answer is unsolved.
+        final int[] solvedAt = new int[numBoards];
+        int numSolved = 0;
+        // The answers that are still possible on each board, and how many there are.
+        final CandidateIndex index = CandidateIndex.of(possibleAnswers);
+        final long[][] candidates = new long[numBoards][];
+        final int[] numRemaining = new int[numBoards];
+        // The clues of each board, for hard mode.
+        final GuessConstraints[] constraints = new GuessConstraints[numBoards];
+        for (int i = 0; i < numBoards; i++) {
+            candidates[i] = index.all();
+            numRemaining[i] = possibleAnswers.size();
+            constraints[i] = new GuessConstraints();
+        }
 
-        // These two variables how many guesses it takes to solve each answer
-        // and is 0 if the answer is unsolved.
-        int answer1Solved = 0;
-        int answer2Solved = 0;
-
+        BoardView view = new BoardView(session);
+        Supplier<String> getHint = () -> {
+            // Suggest the best guess for the unsolved board with the fewest possible
+            // answers left.
+            int board = -1;
+            for (int i = 0; i < numBoards; i++) {
+                if (solvedAt[i] == 0 && (board == -1 || numRemaining[i] < numRemaining[board]))
+                    board = i;
+            }
+            int[] boardCandidates = CandidateIndex.toIndexes(candidates[board]);
+            return "Hint: try " + Solver.bestGuess(allWords, possibleAnswers, boardCandidates) + ". Board "
+                    + (board + 1) + " has " + (boardCandidates.length == 1 ? "1 possible answer"
+                            : boardCandidates.length + " possible answers")
+                    + " left.";
+        };
         while (true) {
-            Utils.VoidFunction recreateCurrentScreen = () -> {
-                boolean ans1Solved = false;
-                boolean ans2Solved = false;
-                for (int i = 0; i < allGuesses.size(); i++) {
-                    // If an answer has already been solved, do not print out this guess for that
-                    // answer.
-                    if (!ans1Solved) {
-                        printColoredWord(allGuesses.get(i), answer1, false);
-                        ans1Solved = answer1.equals(allGuesses.get(i));
-                    } else {
-                        System.out.print("     "); // Filler space for a 5-letter word
-                    }
-                    System.out.print(gap);
-                    if (!ans2Solved) {
-                        printColoredWord(allGuesses.get(i), answer2, false);
-                        ans2Solved = answer2.equals(allGuesses.get(i));
-                    }
-                    System.out.println();
+            GuessConstraints[] hardMode = null;
+            if (session.isHardMode()) {
+                // The guess has to follow the clues of at least one unsolved board.
+                hardMode = new GuessConstraints[numBoards - numSolved];
+                int n = 0;
+                for (int i = 0; i < numBoards; i++) {
+                    if (solvedAt[i] == 0)
+                        hardMode[n++] = constraints[i];
                 }
-            };
-            String guess = getGuess(in, 5, allWords, recreateCurrentScreen);
+            }
+            String guess = getGuess(session, 5, allWords, view, getHint, null, hardMode);
             if (guess.equals("RQ")) {
-                System.out.println("You rage quit. The answers are: " + answer1 + " and " + answer2);
+                session.println("You rage quit. The answers are: " + listAnswers(answers));
                 break;
             }
 
-            Utils.clearScreen();
-            // If all the guesses are used up but the player has not found both answers,
-            // notify the player.
-            if (!((answer1Solved > 0 || guess.equals(answer1)) && (answer2Solved > 0 || guess.equals(answer2)))
-                    && (allGuesses.size() + 1) == this.getNumGuesses()) {
-                System.out.println("You have used up all " + this.getNumGuesses()
-                        + " guesses, so you won't get any points for any correct guesses after this point. You can keep guessing, or you can enter 'RQ' to rage quit and move onto the next round.");
-            }
-            System.out.println();
-            recreateCurrentScreen.run();
-            if (answer1Solved == 0) {
-                printColoredWord(guess, answer1, true);
-            } else {
-                System.out.print("     ");
+            int[] patterns = new int[numBoards];
+            for (int i = 0; i < numBoards; i++) {
+                patterns[i] = solvedAt[i] == 0 ? Feedback.score(guess, answers[i]) : -1;
             }
-            System.out.print(gap);
-            if (answer2Solved == 0) {
-                printColoredWord(guess, answer2, true);
-            }
-            System.out.println();
             allGuesses.add(guess);
-
-            if (guess.equals(answer1))
-                answer1Solved = allGuesses.size();
-            if (guess.equals(answer2))
-                answer2Solved = allGuesses.size();
-            if (answer1Solved > 0 && answer2Solved > 0) {
-                break; // Exit when both answers are solved.
+            allPatterns.add(patterns);
+            for (int i = 0; i < numBoards; i++) {
+                if (solvedAt[i] != 0)
+                    continue;
+                session.guessScored(i, guess, patterns[i], guess.equals(answers[i]));
+                if (guess.equals(answers[i])) {
+                    solvedAt[i] = allGuesses.size();
+                    numSolved++;
+                    numRemaining[i] = 0;
+                } else {
+                    index.narrow(candidates[i], guess, patterns[i]);
+                    numRemaining[i] = CandidateIndex.count(candidates[i]);
+                    constraints[i].add(guess, patterns[i]);
+                }
+            }
+            // If all the guesses are used up but the player has not found every answer,
+            // notify the player. With one row of boards, the new guess is revealed letter
+            // by letter.
+            view.show(boardLines(allGuesses, allPatterns, numRemaining),
+                    numSolved < numBoards && allGuesses.size() == this.getNumGuesses() ? usedUpMessage(true) : null,
+                    numBoards <= 2 ? allGuesses.size() - 1 : -1);
+            if (numSolved == numBoards) {
+                break; // Exit when every answer is solved.
             }
         }
 
         // Print congrats message
-        if (answer1Solved > 0 && answer2Solved > 0 && allGuesses.size() <= this.getNumGuesses()) {
-            // Both ansnwers are solved under the allowed number of guesses
-            System.out.println("Congrats, you found both answers in " + allGuesses.size() + " guesses!");
-        } else if (answer1Solved > 0 && answer1Solved <= this.getNumGuesses()) {
-            System.out.println("Congrats, you found one answer in " + answer1Solved + " guesses!");
-        } else if (answer2Solved > 0 && answer2Solved <= this.getNumGuesses()) {
-            System.out.println("Congrats, you found one answer in " + answer2Solved + " guesses!");
+        int numSolvedInTime = 0;
+        int lastSolvedAt = 0;
+        for (int i = 0; i < numBoards; i++) {
+            if (solvedAt[i] > 0 && solvedAt[i] <= this.getNumGuesses()) {
+                numSolvedInTime++;
+                lastSolvedAt = solvedAt[i];
+            }
+        }
+        boolean allSolvedInTime = numSolved == numBoards && allGuesses.size() <= this.getNumGuesses();
+        if (allSolvedInTime) {
+            // Every answer is solved under the allowed number of guesses
+            session.println("Congrats, you found " + (numBoards == 2 ? "both" : "all " + numBoards) + " answers in "
+                    + allGuesses.size() + " guesses!");
+        } else if (numSolvedInTime == 1) {
+            session.println("Congrats, you found one answer in " + lastSolvedAt + " guesses!");
+        } else if (numSolvedInTime > 1) {
+            session.println("Congrats, you found " + numSolvedInTime + " of the " + numBoards + " answers!");
         }
 
-        // Calculate score.
+        // Calculate score. Each answer solved under the allowed number of guesses
+        // earns its share of the points a single Wordle would.
         int newPoints = 0;
-        // Add points for each answer solved under the allowed number of guesses.
-        newPoints += (answer1Solved > 0 && answer1Solved <= this.getNumGuesses())
-                ? (int) Math.pow((this.getNumGuesses() - answer1Solved + 1), 2) * 50
-                : 0;
-        newPoints += (answer2Solved > 0 && answer2Solved <= this.getNumGuesses())
-                ? (int) Math.pow((this.getNumGuesses() - answer2Solved + 1), 2) * 50
-                : 0;
+        for (int i = 0; i < numBoards; i++) {
+            newPoints += (solvedAt[i] > 0 && solvedAt[i] <= this.getNumGuesses())
+                    ? (int) Math.pow((this.getNumGuesses() - solvedAt[i] + 1), 2) * 100 / numBoards
+                    : 0;
+        }
 
-        // Add bonus points if both answers are solved under the allowed number of
+        // Add bonus points if every answer is solved under the allowed number of
         // guesses.
-        newPoints += (answer1Solved > 0 && answer2Solved > 0 && allGuesses.size() <= this.getNumGuesses())
-                ? (int) Math.pow((this.getNumGuesses() - allGuesses.size() + 1), 2) * 100
-                : 0;
+        newPoints += allSolvedInTime ? (int) Math.pow((this.getNumGuesses() - allGuesses.size() + 1), 2) * 100 : 0;
         int totalScore = prevScore + newPoints;
-        printFinishedRoundMessage(newPoints, totalScore, in, includeTotalScore);
+        printFinishedRoundMessage(newPoints, totalScore, session, includeTotalScore);
 
         return totalScore;
     }
+
+    static ArrayList<String> boardLines(ArrayList<String> allGuesses, ArrayList<int[]> allPatterns,
+            int[] numRemaining) {
+        // Returns the lines that show every guess so far on every board, with the
+        // boards side by side in as few rows as fit the screen. A board stops showing
+        // guesses once it is solved. Under each unsolved board is the number of answers
+        // still possible on it, unless `numRemaining` is null.
+        ArrayList<String> lines = new ArrayList<String>();
+        if (allGuesses.isEmpty())
+            return lines;
+        int numBoards = allPatterns.get(0).length;
+        int numLetters = allGuesses.get(0).length();
+        String gap = numBoards <= 2 ? WIDE_GAP : NARROW_GAP;
+        // Spread the boards evenly over the fewest rows that fit.
+        int maxBoardsPerRow = Math.max(1, (SCREEN_WIDTH + gap.length()) / (numLetters + gap.length()));
+        int numRows = (numBoards + maxBoardsPerRow - 1) / maxBoardsPerRow;
+        int boardsPerRow = (numBoards + numRows - 1) / numRows;
+        String filler = " ".repeat(numLetters); // Filler space for a solved board
+        StringBuilder line = new StringBuilder();
+        for (int first = 0; first < numBoards; first += boardsPerRow) {
+            if (first > 0)
+                lines.add("");
+            for (int g = 0; g < allGuesses.size(); g++) {
+                int[] patterns = allPatterns.get(g);
+                // Leave out the boards at the end of the row that were already solved, and
+                // the rest of the guesses once every board in the row is solved.
+                int end = Math.min(numBoards, first + boardsPerRow);
+                while (end > first && patterns[end - 1] == -1) {
+                    end--;
+                }
+                if (end == first)
+                    break;
+                line.setLength(0);
+                for (int i = first; i < end; i++) {
+                    if (i > first)
+                        line.append(gap);
+                    line.append(patterns[i] == -1 ? filler : coloredWord(allGuesses.get(g), patterns[i]));
+                }
+                lines.add(line.toString());
+            }
+            if (numRemaining != null) {
+                int end = Math.min(numBoards, first + boardsPerRow);
+                while (end > first && numRemaining[end - 1] == 0) {
+                    end--;
+                }
+                line.setLength(0);
+                for (int i = first; i < end; i++) {
+                    if (i > first)
+                        line.append(gap);
+                    String count = numRemaining[i] == 0 ? "" : "(" + numRemaining[i] + ")";
+                    // Pad every column but the last to the width of a word.
+                    line.append(i == end - 1 ? count : String.format("%-" + numLetters + "s", count));
+                }
+                if (end > first)
+                    lines.add(line.toString());
+            }
+        }
+        return lines;
+    }
+
+    private static String listAnswers(String[] answers) {
+        // Lists the answers like "A, B and C".
+        String list = answers[0];
+        for (int i = 1; i < answers.length; i++) {
+            list += (i == answers.length - 1 ? " and " : ", ") + answers[i];
+        }
+        return list;
+    }
+}
+
+class Round4 extends MultiWordleRound {
+    Round4() {
+        super("DOUBLE WORDLE",
+                "You have six tries to guess two 5-letter words. Each guess will be used on both words simultaneously. You will earn points for each answer you solve under the allocated number of attempts.",
+                2, 6);
+    }
+}
+
+class Quordle extends MultiWordleRound {
+    Quordle() {
+        super("QUORDLE",
+                "You have nine tries to guess four 5-letter words. Each guess will be used on every word simultaneously. You will earn points for each answer you solve under the allocated number of attempts.",
+                4, 9);
+    }
+}
+
+class Octordle extends MultiWordleRound {
+    Octordle() {
+        super("OCTORDLE",
+                "You have 13 tries to guess eight 5-letter words. Each guess will be used on every word simultaneously. You will earn points for each answer you solve under the allocated number of attempts.",
+                8, 13);
+    }
+}
+
+class Sedecordle extends MultiWordleRound {
+    Sedecordle() {
+        super("SEDECORDLE",
+                "You have 21 tries to guess sixteen 5-letter words. Each guess will be used on every word simultaneously. You will earn points for each answer you solve under the allocated number of attempts.",
+                16, 21);
+    }
+}
+
+class Duotrigordle extends MultiWordleRound {
+    Duotrigordle() {
+        super("DUOTRIGORDLE",
+                "You have 37 tries to guess thirty-two 5-letter words. Each guess will be used on every word simultaneously. You will earn points for each answer you solve under the allocated number of attempts.",
+                32, 37);
+    }
 }
 
 class Round5 extends WordleRound {
@@ -534,11 +736,76 @@ class Round5 extends WordleRound {
     }
 
     @Override
-    int play(Scanner in, int prevScore, boolean includeTotalScore) {
-        final ArrayList<String> allWords = getWords("./wordlist_java_keywords.txt");
-        final String answer = allWords.get((int) (Math.random() * allWords.size()));
+    int play(Session session, int prevScore, boolean includeTotalScore) {
+        final Dictionary allWords = getDictionary("./wordlist_java_keywords.txt");
+        final String answer = allWords.get(ThreadLocalRandom.current().nextInt(allWords.size()));
+
+        WordleResult result = mainWordle(session, answer, allWords, allWords, 0);
+        return postprocessWordleResult(result, prevScore, includeTotalScore, session);
+    }
+}
+
+class Round6 extends WordleRound {
+    Round6() {
+        super("ABSURDLE",
+                "There is no hidden word this time. After each guess, the answer becomes whichever word keeps you guessing the longest, while still matching every colour shown so far. You have 8 tries to corner it.",
+                5, 8);
+    }
+
+    @Override
+    int play(Session session, int prevScore, boolean includeTotalScore) {
+        final Dictionary possibleAnswers = getDictionary("./wordlist_5_answers.txt");
+        final Dictionary allWords = getDictionary("./wordlist_5_all.txt");
+        session.startRound(this, possibleAnswers, allWords);
+        boolean successful = false;
+        ArrayList<String> allGuesses = new ArrayList<String>();
+        // The answers that still match every colour shown so far. No answer is chosen
+        // until only the guess itself is left.
+        int[][] candidates = { Solver.allCandidates(possibleAnswers) };
+
+        // The lines of the board, like in `mainWordle`.
+        ArrayList<String> board = new ArrayList<String>();
+        BoardView view = new BoardView(session);
+        Supplier<String> getHint = () -> "Hint: try " + Solver.bestGuess(allWords, possibleAnswers, candidates[0])
+                + ".";
+        // In hard mode, the clues every guess has to follow, like in `mainWordle`.
+        final GuessConstraints[] hardMode = session.isHardMode() ? new GuessConstraints[] { new GuessConstraints() }
+                : null;
+        while (true) {
+            String guess = getGuess(session, 5, allWords, view, getHint, null, hardMode);
+            if (guess.equals("RQ")) {
+                String answer = possibleAnswers
+                        .get(candidates[0][ThreadLocalRandom.current().nextInt(candidates[0].length)]);
+                session.println("You rage quit. The answer could have been: " + answer);
+                break;
+            }
+
+            // Keep whichever colours leave the most answers possible.
+            Solver.Bucket bucket = Solver.largestBucket(possibleAnswers, candidates[0], guess);
+            candidates[0] = bucket.candidates;
+            boolean correct = bucket.pattern == Feedback.allGreen(guess.length());
 
-        WordleResult result = mainWordle(in, answer, allWords, 0);
-        return postprocessWordleResult(result, prevScore, includeTotalScore, in);
+            allGuesses.add(guess);
+            session.guessScored(0, guess, bucket.pattern, correct);
+            if (!board.isEmpty())
+                board.remove(board.size() - 1);
+            board.add(coloredWord(guess, bucket.pattern));
+            if (correct) {
+                view.show(board, null, board.size() - 1);
+                session.println("Heck yea, you cornered the answer in " + allGuesses.size() + " guesses!");
+                successful = true;
+                break;
+            }
+            if (hardMode != null)
+                hardMode[0].add(guess, bucket.pattern);
+            board.add(remainingMessage(candidates[0].length));
+            // If all the guesses have been used up without finding the answer, notify the
+            // player.
+            view.show(board, allGuesses.size() == this.getNumGuesses() ? usedUpMessage(false) : null,
+                    board.size() - 2);
+        }
+
+        return postprocessWordleResult(new WordleResult(allGuesses, successful), prevScore, includeTotalScore,
+                session);
     }
-}
\ No newline at end of file
+}